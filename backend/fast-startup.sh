@@ -0,0 +1,39 @@
+#!/bin/bash
+# Builds an AppCDS archive for the fast-startup profile and starts the backend with it.
+# CDS needs plain jars on the class path (no class directories), so the executable jar is unpacked
+# into target/cds and the application classes are repacked as a jar of their own.
+# The training run refreshes the context (which loads nearly every class used at startup) and exits
+# before the web server starts, then the JVM writes the loaded classes to target/cds/app.jsa.
+# Usage: ./fast-startup.sh archive            build the jar, unpack it and record the archive
+#        ./fast-startup.sh run [app options]  start with the archive, e.g. --server.port=8090
+set -e
+cd "$(dirname "$0")"
+CDS_DIR=target/cds
+
+case "${1:-archive}" in
+    archive)
+        mvn -B -q package -DskipTests
+        rm -rf "$CDS_DIR"
+        mkdir -p "$CDS_DIR/app"
+        unzip -q target/employee-management-system-0.0.1-SNAPSHOT-exec.jar -d "$CDS_DIR/app"
+        jar cf "$CDS_DIR/app/application.jar" -C "$CDS_DIR/app/BOOT-INF/classes" .
+        # Keep Spring Boot's class path order; the archive is only used with the exact same class path
+        CLASSPATH="app/application.jar"
+        for jar in $(sed -n 's/^- "\(.*\)"$/\1/p' "$CDS_DIR/app/BOOT-INF/classpath.idx"); do
+            CLASSPATH="$CLASSPATH:app/$jar"
+        done
+        echo "-cp $CLASSPATH com.ems.EmployeeManagementSystemApplication" > "$CDS_DIR/java.args"
+        (cd "$CDS_DIR" && java -XX:ArchiveClassesAtExit=app.jsa -Xlog:cds=error -Dspring.context.exit=onRefresh \
+            @java.args --spring.profiles.active=fast-startup --app.audit.dir=training-audit-log)
+        echo "Archive written to $CDS_DIR/app.jsa"
+        ;;
+    run)
+        shift
+        cd "$CDS_DIR"
+        exec java -XX:SharedArchiveFile=app.jsa @java.args --spring.profiles.active=fast-startup "$@"
+        ;;
+    *)
+        echo "Usage: $0 archive | run [app options]" >&2
+        exit 1
+        ;;
+esac
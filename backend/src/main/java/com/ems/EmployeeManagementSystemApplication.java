@@ -2,11 +2,17 @@ package com.ems;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EmployeeManagementSystemApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(EmployeeManagementSystemApplication.class, args);
+        SpringApplication application = new SpringApplication(EmployeeManagementSystemApplication.class);
+        // Records startup steps for the startup report and the actuator startup endpoint
+        application.setApplicationStartup(new BufferingApplicationStartup(10000));
+        application.run(args);
     }
-}
\ No newline at end of file
+}
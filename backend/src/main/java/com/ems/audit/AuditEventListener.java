@@ -0,0 +1,166 @@
+package com.ems.audit;
+
+import com.ems.entity.Attendance;
+import com.ems.entity.Employee;
+import com.ems.entity.Salary;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures committed changes to audited entities. Runs on the committing thread after the
+ * transaction has completed, so it only formats the change and queues it for AuditLog.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.enabled", matchIfMissing = true)
+public class AuditEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+    
+    // Longer values (e.g. remarks) are cut to fit the log's 16-bit string lengths
+    private static final int MAX_VALUE_LENGTH = 4096;
+    
+    @Autowired
+    private AuditLog auditLog;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return entityType(persister.getMappedClass()) != null;
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        AuditRecord.EntityType entityType = entityType(event.getEntity().getClass());
+        if (entityType != null) {
+            List<AuditRecord.Change> changes = changes(event.getPersister(), null, event.getState(), event.getSession());
+            record(entityType, event.getId(), AuditRecord.Action.INSERT, changes);
+        }
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        AuditRecord.EntityType entityType = entityType(event.getEntity().getClass());
+        if (entityType != null) {
+            List<AuditRecord.Change> changes = changes(event.getPersister(), event.getOldState(), event.getState(), event.getSession());
+            if (!changes.isEmpty()) {
+                record(entityType, event.getId(), AuditRecord.Action.UPDATE, changes);
+            }
+        }
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        AuditRecord.EntityType entityType = entityType(event.getEntity().getClass());
+        if (entityType != null) {
+            List<AuditRecord.Change> changes = changes(event.getPersister(), event.getDeletedState(), null, event.getSession());
+            record(entityType, event.getId(), AuditRecord.Action.DELETE, changes);
+        }
+    }
+    
+    // Rolled back changes are not audited
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+    
+    private void record(AuditRecord.EntityType entityType, Object id, AuditRecord.Action action, List<AuditRecord.Change> changes) {
+        auditLog.append(new AuditRecord(Instant.now(), currentActor(), entityType, ((Number) id).longValue(), action, changes));
+    }
+    
+    private List<AuditRecord.Change> changes(EntityPersister persister, Object[] oldState, Object[] newState,
+                                             SharedSessionContractImplementor session) {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        List<AuditRecord.Change> changes = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if (types[i].isCollectionType()) {
+                continue;
+            }
+            // Hibernate's type equality: BigDecimal by value, associations by id without initializing them
+            if (oldState != null && newState != null && types[i].isEqual(oldState[i], newState[i])) {
+                continue;
+            }
+            String oldValue = oldState != null ? format(oldState[i], types[i], session) : null;
+            String newValue = newState != null ? format(newState[i], types[i], session) : null;
+            changes.add(new AuditRecord.Change(names[i], oldValue, newValue));
+        }
+        return changes;
+    }
+    
+    private static String format(Object value, Type type, SharedSessionContractImplementor session) {
+        if (value == null) {
+            return null;
+        }
+        String formatted;
+        if (type.isEntityType()) {
+            // Associations are recorded by id, without initializing proxies
+            Object id = value instanceof HibernateProxy proxy
+                    ? proxy.getHibernateLazyInitializer().getInternalIdentifier()
+                    : session.getEntityPersister(null, value).getIdentifier(value, session);
+            formatted = String.valueOf(id);
+        } else {
+            formatted = value.toString();
+        }
+        return formatted.length() > MAX_VALUE_LENGTH ? formatted.substring(0, MAX_VALUE_LENGTH) : formatted;
+    }
+    
+    private static AuditRecord.EntityType entityType(Class<?> entityClass) {
+        if (Employee.class.isAssignableFrom(entityClass)) {
+            return AuditRecord.EntityType.EMPLOYEE;
+        } else if (Salary.class.isAssignableFrom(entityClass)) {
+            return AuditRecord.EntityType.SALARY;
+        } else if (Attendance.class.isAssignableFrom(entityClass)) {
+            return AuditRecord.EntityType.ATTENDANCE;
+        }
+        return null;
+    }
+    
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "system";
+        }
+        return authentication.getName();
+    }
+}
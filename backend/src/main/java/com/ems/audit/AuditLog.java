@@ -0,0 +1,303 @@
+package com.ems.audit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit log. Producers only enqueue; a single writer thread appends records to
+ * fixed-size memory-mapped segment files (audit-NNNNNNNN.log) and forces them to disk at most
+ * every app.audit.force-interval-ms, so a crash of the host loses at most that window.
+ *
+ * <p>Record layout: int length of the rest, long epoch millis, byte entity type, byte action,
+ * long entity id, actor, short change count, then per change the property and two nullable
+ * values (byte present flag + string). Strings are a short byte length followed by UTF-8. A zero
+ * length marks the end of a segment's data.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.enabled", matchIfMissing = true)
+public class AuditLog {
+    
+    private static final Log logger = LogFactory.getLog(AuditLog.class);
+    
+    private static final String SEGMENT_PREFIX = "audit-";
+    
+    private static final String SEGMENT_SUFFIX = ".log";
+    
+    // length + timestamp + entity type + action + entity id
+    private static final int HEADER_BYTES = 4 + 8 + 1 + 1 + 8;
+    
+    @Value("${app.audit.dir:audit-log}")
+    private String directory;
+    
+    @Value("${app.audit.segment-size-mb:64}")
+    private int segmentSizeMb;
+    
+    @Value("${app.audit.force-interval-ms:1000}")
+    private long forceIntervalMillis;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final ConcurrentLinkedQueue<AuditRecord> queue = new ConcurrentLinkedQueue<>();
+    
+    private final AtomicLong pending = new AtomicLong();
+    
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    
+    private volatile boolean running;
+    
+    private Thread writer;
+    
+    @PostConstruct
+    public void start() throws IOException {
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path path : files.filter(AuditLog::isSegment).sorted().toList()) {
+                segments.add(Segment.open(path, Files.size(path)));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.open(dir.resolve(segmentName(1)), segmentSize()));
+        }
+        
+        Gauge.builder("ems.audit.pending", pending, AtomicLong::get)
+                .description("Audit records waiting for the writer")
+                .register(meterRegistry);
+        
+        running = true;
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Audit log: " + dir.toAbsolutePath() + " (" + segments.size() + " segments)");
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(10_000);
+    }
+    
+    public void append(AuditRecord record) {
+        queue.offer(record);
+        pending.incrementAndGet();
+        LockSupport.unpark(writer);
+    }
+    
+    /**
+     * Records for one entity type (and optionally one entity) in [from, to), oldest first. Records
+     * still queued for the writer are not visible yet.
+     */
+    public List<AuditRecord> find(AuditRecord.EntityType entityType, Long entityId, Instant from, Instant to, int limit) {
+        long fromMillis = from != null ? from.toEpochMilli() : Long.MIN_VALUE;
+        long toMillis = to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+        List<AuditRecord> results = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.lastTimestamp < fromMillis || segment.firstTimestamp >= toMillis) {
+                continue;
+            }
+            ByteBuffer view = segment.buffer.duplicate();
+            int end = segment.limit;
+            int position = 0;
+            while (position < end && results.size() < limit) {
+                int length = view.getInt(position);
+                long timestamp = view.getLong(position + 4);
+                int type = view.get(position + 12);
+                long id = view.getLong(position + 14);
+                if (timestamp >= fromMillis && timestamp < toMillis && type == entityType.ordinal()
+                        && (entityId == null || id == entityId)) {
+                    view.position(position + HEADER_BYTES);
+                    results.add(decode(view, timestamp, entityType, view.get(position + 13), id));
+                }
+                position += 4 + length;
+            }
+        }
+        return results;
+    }
+    
+    private void writeLoop() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        DataOutputStream out = new DataOutputStream(bytes);
+        boolean dirty = false;
+        long lastForce = System.nanoTime();
+        long forceIntervalNanos = forceIntervalMillis * 1_000_000L;
+        while (true) {
+            AuditRecord record = queue.poll();
+            if (record == null) {
+                long sinceForce = System.nanoTime() - lastForce;
+                if (dirty && (sinceForce >= forceIntervalNanos || !running)) {
+                    segments.get(segments.size() - 1).buffer.force();
+                    dirty = false;
+                    lastForce = System.nanoTime();
+                }
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(dirty ? forceIntervalNanos - sinceForce : forceIntervalNanos);
+                continue;
+            }
+            pending.decrementAndGet();
+            try {
+                bytes.reset();
+                encode(record, out);
+                write(bytes.toByteArray(), record.getTimestamp().toEpochMilli());
+                dirty = true;
+            } catch (IOException | RuntimeException e) {
+                logger.error("Could not write audit record " + record, e);
+            }
+        }
+    }
+    
+    private void write(byte[] payload, long timestamp) throws IOException {
+        Segment segment = segments.get(segments.size() - 1);
+        // Keep room for the record and the zero length that terminates the segment
+        if (segment.limit + 4 + payload.length + 4 > segment.buffer.capacity()) {
+            segment.buffer.force();
+            int next = segments.size() + 1;
+            segment = Segment.open(Paths.get(directory).resolve(segmentName(next)), Math.max(segmentSize(), payload.length + 8L));
+            segments.add(segment);
+        }
+        int position = segment.limit;
+        segment.buffer.put(position + 4, payload);
+        // Publish the length last so a torn write leaves a terminator behind
+        segment.buffer.putInt(position, payload.length);
+        segment.include(timestamp);
+        segment.limit = position + 4 + payload.length;
+    }
+    
+    private static void encode(AuditRecord record, DataOutputStream out) throws IOException {
+        out.writeLong(record.getTimestamp().toEpochMilli());
+        out.writeByte(record.getEntityType().ordinal());
+        out.writeByte(record.getAction().ordinal());
+        out.writeLong(record.getEntityId());
+        writeString(out, record.getActor());
+        out.writeShort(record.getChanges().size());
+        for (AuditRecord.Change change : record.getChanges()) {
+            writeString(out, change.getProperty());
+            writeNullable(out, change.getOldValue());
+            writeNullable(out, change.getNewValue());
+        }
+        out.flush();
+    }
+    
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeString(out, value);
+        }
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static AuditRecord decode(ByteBuffer in, long timestamp, AuditRecord.EntityType entityType, int action, long entityId) {
+        String actor = readString(in);
+        int changeCount = in.getShort() & 0xFFFF;
+        List<AuditRecord.Change> changes = new ArrayList<>(changeCount);
+        for (int i = 0; i < changeCount; i++) {
+            String property = readString(in);
+            String oldValue = in.get() != 0 ? readString(in) : null;
+            String newValue = in.get() != 0 ? readString(in) : null;
+            changes.add(new AuditRecord.Change(property, oldValue, newValue));
+        }
+        return new AuditRecord(Instant.ofEpochMilli(timestamp), actor, entityType, entityId,
+                AuditRecord.Action.values()[action], changes);
+    }
+    
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private long segmentSize() {
+        return segmentSizeMb * 1024L * 1024L;
+    }
+    
+    private static String segmentName(int number) {
+        return String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+    
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+    
+    private static final class Segment {
+        
+        private final MappedByteBuffer buffer;
+        
+        // Written only by the writer thread; volatile so readers see complete records only
+        private volatile int limit;
+        
+        private volatile long firstTimestamp = Long.MAX_VALUE;
+        
+        private volatile long lastTimestamp = Long.MIN_VALUE;
+        
+        private Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        static Segment open(Path path, long size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                Segment segment = new Segment(channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+                segment.recover();
+                return segment;
+            }
+        }
+        
+        // Records are queued by several threads, so timestamps are only roughly ordered
+        private void include(long timestamp) {
+            firstTimestamp = Math.min(firstTimestamp, timestamp);
+            lastTimestamp = Math.max(lastTimestamp, timestamp);
+        }
+        
+        // Finds the end of the written data and the time range of an existing segment
+        private void recover() {
+            int position = 0;
+            while (position + 4 <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + 4 + length > buffer.capacity()) {
+                    break;
+                }
+                include(buffer.getLong(position + 4));
+                position += 4 + length;
+            }
+            limit = position;
+        }
+    }
+}
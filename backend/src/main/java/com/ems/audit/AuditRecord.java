@@ -0,0 +1,43 @@
+package com.ems.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditRecord {
+    
+    private Instant timestamp;
+    
+    private String actor;
+    
+    private EntityType entityType;
+    
+    private long entityId;
+    
+    private Action action;
+    
+    private List<Change> changes;
+    
+    public enum EntityType {
+        EMPLOYEE, SALARY, ATTENDANCE
+    }
+    
+    public enum Action {
+        INSERT, UPDATE, DELETE
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+        private String property;
+        private String oldValue;
+        private String newValue;
+    }
+}
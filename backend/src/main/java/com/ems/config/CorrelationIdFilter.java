@@ -0,0 +1,77 @@
+package com.ems.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Puts the request's id in the logging MDC as requestId, so every line logged while handling it
+ * can be found together. A well-formed X-Request-Id from the client or a proxy is reused, otherwise
+ * one is generated; either way it is echoed in the response.
+ */
+public class CorrelationIdFilter extends OncePerRequestFilter {
+    
+    public static final String HEADER = "X-Request-Id";
+    
+    public static final String MDC_KEY = "requestId";
+    
+    private static final String ATTRIBUTE = CorrelationIdFilter.class.getName() + ".requestId";
+    
+    private static final int MAX_LENGTH = 64;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Async and error dispatches run later, possibly on another thread, and keep the first dispatch's id
+        String requestId = (String) request.getAttribute(ATTRIBUTE);
+        if (requestId == null) {
+            requestId = accept(request.getHeader(HEADER));
+            if (requestId == null) {
+                requestId = generate();
+            }
+            request.setAttribute(ATTRIBUTE, requestId);
+            response.setHeader(HEADER, requestId);
+        }
+        MDC.put(MDC_KEY, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+    
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+    
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+    
+    // Only short ids of safe characters, so a client cannot forge log lines or fields with it
+    private static String accept(String value) {
+        if (value == null || value.isEmpty() || value.length() > MAX_LENGTH) {
+            return null;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(Character.isLetterOrDigit(c) && c < 128) && c != '-' && c != '_' && c != '.') {
+                return null;
+            }
+        }
+        return value;
+    }
+    
+    // 16 hex digits; unique enough to correlate logs without UUID's SecureRandom
+    private static String generate() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+    }
+}
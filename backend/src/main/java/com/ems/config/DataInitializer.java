@@ -2,33 +2,48 @@ package com.ems.config;
 
 import com.ems.entity.User;
 import com.ems.repository.UserRepository;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
+@Profile("!seed")
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Log log = LogFactory.getLog(DataInitializer.class);
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private StartupTasks startupTasks;
+
     @Override
     public void run(String... args) throws Exception {
-        // Check if users already exist
-        if (userRepository.count() == 0) {
-            createDemoUsers();
-        }
+        startupTasks.seed(() -> {
+            // Check if users already exist
+            if (userRepository.count() == 0) {
+                createDemoUsers();
+            }
+            return null;
+        });
     }
 
     private void createDemoUsers() {
+        // BCrypt is deliberately slow; the demo accounts share one hash of the demo password
+        String passwordHash = passwordEncoder.encode("password123");
+
         // Create Admin user
         User admin = new User();
         admin.setUsername("admin");
-        admin.setPassword(passwordEncoder.encode("password123"));
+        admin.setPassword(passwordHash);
         admin.setRole(User.Role.ADMIN);
         admin.setEnabled(true);
         userRepository.save(admin);
@@ -36,7 +51,7 @@ public class DataInitializer implements CommandLineRunner {
         // Create HR Manager
         User hrManager = new User();
         hrManager.setUsername("hr.manager");
-        hrManager.setPassword(passwordEncoder.encode("password123"));
+        hrManager.setPassword(passwordHash);
         hrManager.setRole(User.Role.HR);
         hrManager.setEnabled(true);
         userRepository.save(hrManager);
@@ -47,16 +62,13 @@ public class DataInitializer implements CommandLineRunner {
         for (String username : employeeUsernames) {
             User employee = new User();
             employee.setUsername(username);
-            employee.setPassword(passwordEncoder.encode("password123"));
+            employee.setPassword(passwordHash);
             employee.setRole(User.Role.EMPLOYEE);
             employee.setEnabled(true);
             userRepository.save(employee);
         }
 
-        System.out.println("Demo users created successfully!");
-        System.out.println("Demo Credentials:");
-        System.out.println("Admin - Username: admin, Password: password123");
-        System.out.println("HR Manager - Username: hr.manager, Password: password123");
-        System.out.println("Employees - Username: john.doe/jane.smith/mike.johnson/sarah.wilson/david.brown, Password: password123");
+        log.info("Demo users created. Admin - Username: admin, HR Manager - Username: hr.manager, "
+                + "Employees - Username: john.doe/jane.smith/mike.johnson/sarah.wilson/david.brown, Password: password123");
     }
 }
\ No newline at end of file
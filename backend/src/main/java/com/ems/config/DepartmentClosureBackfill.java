@@ -0,0 +1,22 @@
+package com.ems.config;
+
+import com.ems.service.DepartmentHierarchy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Runs before the data initializers so an existing schema gets its closure rows before any seeding
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DepartmentClosureBackfill implements CommandLineRunner {
+
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+
+    @Override
+    public void run(String... args) {
+        departmentHierarchy.backfillIfNeeded();
+    }
+}
@@ -0,0 +1,45 @@
+package com.ems.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes list results as a JSON array element by element, so large responses are never held
+ * in memory as a list or a serialized buffer. Sources read their rows in pages (EntityStreamer),
+ * so no transaction stays open while the body is written to a slow client.
+ */
+@Component
+public class JsonArrayStreamer {
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    public <T> StreamingResponseBody stream(Class<T> elementType, Consumer<Consumer<T>> source) {
+        // Resolve the serializer once; per-element flushing would defeat the servlet buffer and compression
+        ObjectWriter writer = objectMapper.writerFor(elementType).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                source.accept(element -> {
+                    try {
+                        writer.writeValue(generator, element);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.ems.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Writes each event as one line of JSON: timestamp, level, thread, logger, message, the MDC entries
+ * (requestId among them) and the stack trace, if any. Logback's own JsonEncoder repeats the logger
+ * context on every line and leaves messages unformatted. The line is built in a per-thread buffer,
+ * and behind the async appender only its worker thread does this.
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+    
+    private static final byte[] NO_BYTES = new byte[0];
+    
+    private static final int INITIAL_CAPACITY = 512;
+    
+    // A long stack trace grows the buffer; don't keep that much around afterwards
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+    
+    @Override
+    public byte[] headerBytes() {
+        return NO_BYTES;
+    }
+    
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        StringBuilder json = BUFFER.get();
+        json.setLength(0);
+        json.append("{\"timestamp\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(event.getInstant(), json);
+        json.append("\",\"level\":\"").append(event.getLevel()).append('"');
+        field(json, "thread", event.getThreadName());
+        field(json, "logger", event.getLoggerName());
+        field(json, "message", event.getFormattedMessage());
+        for (Map.Entry<String, String> entry : event.getMDCPropertyMap().entrySet()) {
+            field(json, entry.getKey(), entry.getValue());
+        }
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            field(json, "stackTrace", ThrowableProxyUtil.asString(throwable));
+        }
+        json.append("}\n");
+        
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        if (json.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.set(new StringBuilder(INITIAL_CAPACITY));
+        }
+        return bytes;
+    }
+    
+    @Override
+    public byte[] footerBytes() {
+        return NO_BYTES;
+    }
+    
+    private static void field(StringBuilder json, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        json.append(",\"");
+        escape(json, name);
+        json.append("\":\"");
+        escape(json, value);
+        json.append('"');
+    }
+    
+    private static void escape(StringBuilder json, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ems.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the beans named in app.startup.lazy-beans as lazy, so they are created on first use instead
+ * of during startup. Their consumers must look them up through an ObjectProvider for this to help.
+ */
+@Component
+public class LazyBeanDefinitions implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private String[] lazyBeans = new String[0];
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        lazyBeans = environment.getProperty("app.startup.lazy-beans", String[].class, new String[0]);
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String beanName : lazyBeans) {
+            if (beanFactory.containsBeanDefinition(beanName)) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                definition.setLazyInit(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ems.config;
+
+import jakarta.servlet.DispatcherType;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Request correlation and sampled SQL logging. The production log format itself (JSON lines
+ * through an async appender) is set up in logback-spring.xml under the prod profile.
+ */
+@Configuration
+public class LoggingConfig {
+    
+    // First in line, so lines logged by every other filter, security included, carry the id
+    @Bean
+    public FilterRegistrationBean<CorrelationIdFilter> correlationIdFilter() {
+        FilterRegistrationBean<CorrelationIdFilter> registration = new FilterRegistrationBean<>(new CorrelationIdFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC, DispatcherType.ERROR);
+        return registration;
+    }
+    
+    // Spring Boot applies it to the application task executor, which also runs streamed response bodies
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return task -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                if (context != null) {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    task.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        };
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer sampledSqlLogCustomizer(@Value("${app.sql.log.sample-rate:0}") double sampleRate) {
+        return properties -> {
+            if (sampleRate > 0) {
+                StatementInspectorChain.register(properties, new SampledSqlLog(sampleRate));
+            }
+        };
+    }
+}
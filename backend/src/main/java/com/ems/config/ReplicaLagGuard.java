@@ -0,0 +1,47 @@
+package com.ems.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers who wrote recently so their reads can stay on the primary until the replica has
+ * caught up; otherwise a user could save a change and not see it on the next page load.
+ */
+public class ReplicaLagGuard {
+    
+    private final long maxLagMillis;
+    
+    // username -> time until which reads go to the primary
+    private final ConcurrentHashMap<String, Long> primaryUntil = new ConcurrentHashMap<>();
+    
+    public ReplicaLagGuard(long maxLagMillis) {
+        this.maxLagMillis = maxLagMillis;
+    }
+    
+    public void recordWrite(String username) {
+        primaryUntil.put(username, System.currentTimeMillis() + maxLagMillis);
+    }
+    
+    public boolean mustReadFromPrimary(String username) {
+        Long until = primaryUntil.get(username);
+        return until != null && until > System.currentTimeMillis();
+    }
+    
+    @Scheduled(fixedDelayString = "${app.datasource.replica.max-lag-ms:2000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        primaryUntil.values().removeIf(until -> until <= now);
+    }
+    
+    static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
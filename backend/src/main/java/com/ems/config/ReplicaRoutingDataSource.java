@@ -0,0 +1,59 @@
+package com.ems.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Must sit behind a
+ * LazyConnectionDataSourceProxy so the route is chosen when the first statement runs, after the
+ * transaction's read-only flag has been set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    enum Route {
+        PRIMARY, REPLICA
+    }
+    
+    private final ReplicaLagGuard lagGuard;
+    
+    private final Counter primaryConnections;
+    
+    private final Counter replicaConnections;
+    
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard lagGuard,
+                                    MeterRegistry meterRegistry) {
+        this.lagGuard = lagGuard;
+        this.primaryConnections = Counter.builder("ems.datasource.route").tag("target", "primary").register(meterRegistry);
+        this.replicaConnections = Counter.builder("ems.datasource.route").tag("target", "replica").register(meterRegistry);
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String username = ReplicaLagGuard.currentUsername();
+        
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (username == null || !lagGuard.mustReadFromPrimary(username)) {
+                replicaConnections.increment();
+                return Route.REPLICA;
+            }
+        } else if (username != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lagGuard.recordWrite(username);
+                }
+            });
+        }
+        
+        primaryConnections.increment();
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ems.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+
+/**
+ * Tells StatementCounter which repository method is running so repeated queries can be traced
+ * back to their caller.
+ */
+@Aspect
+public class RepositoryStatementAspect {
+    
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object attribute(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!StatementCounter.isActive()) {
+            return joinPoint.proceed();
+        }
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        String repository = interfaces.length > 0
+                ? interfaces[0].getSimpleName()
+                : joinPoint.getSignature().getDeclaringType().getSimpleName();
+        StatementCounter.enterOrigin(repository + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            StatementCounter.exitOrigin();
+        }
+    }
+}
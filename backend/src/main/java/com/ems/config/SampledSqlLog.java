@@ -0,0 +1,31 @@
+package com.ems.config;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs a random sample of the statements Hibernate prepares on com.ems.sql, so production logs
+ * show what is running without the cost of show-sql on every statement. Slow statements are
+ * logged separately, with their duration, by hibernate.log_slow_query.
+ */
+public class SampledSqlLog implements StatementInspector {
+    
+    private static final Log log = LogFactory.getLog("com.ems.sql");
+    
+    private final double sampleRate;
+    
+    public SampledSqlLog(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        if (ThreadLocalRandom.current().nextDouble() < sampleRate && log.isInfoEnabled()) {
+            log.info(sql);
+        }
+        return sql;
+    }
+}
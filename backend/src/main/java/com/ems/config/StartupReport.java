@@ -0,0 +1,86 @@
+package com.ems.config;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs the slowest bean initializations once the application is ready. Times are self times:
+ * a bean's duration minus the beans created while resolving its dependencies, so one slow bean
+ * does not show up again in everything that depends on it. The full timeline stays available
+ * on the actuator startup endpoint.
+ */
+@Component
+public class StartupReport {
+
+    private static final Log log = LogFactory.getLog(StartupReport.class);
+
+    private static final String BEAN_INSTANTIATION = "spring.beans.instantiate";
+
+    @Value("${app.startup.report:false}")
+    private boolean enabled;
+
+    @Value("${app.startup.report-top:20}")
+    private int top;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void printReport(ApplicationReadyEvent event) {
+        if (!enabled || !(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+
+        Map<Long, Duration> childTime = new HashMap<>();
+        for (StartupTimeline.TimelineEvent timelineEvent : events) {
+            Long parentId = timelineEvent.getStartupStep().getParentId();
+            if (parentId != null && BEAN_INSTANTIATION.equals(timelineEvent.getStartupStep().getName())) {
+                childTime.merge(parentId, timelineEvent.getDuration(), Duration::plus);
+            }
+        }
+
+        int beans = 0;
+        Duration beanTotal = Duration.ZERO;
+        List<Map.Entry<String, Duration>> selfTimes = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent timelineEvent : events) {
+            StartupStep step = timelineEvent.getStartupStep();
+            if (!BEAN_INSTANTIATION.equals(step.getName())) {
+                continue;
+            }
+            Duration self = timelineEvent.getDuration().minus(childTime.getOrDefault(step.getId(), Duration.ZERO));
+            selfTimes.add(Map.entry(beanName(step), self));
+            beans++;
+            beanTotal = beanTotal.plus(self);
+        }
+        selfTimes.sort(Map.Entry.<String, Duration>comparingByValue().reversed());
+
+        StringBuilder report = new StringBuilder()
+                .append(String.format("Startup report: ready in %dms, %d beans created in %dms (self time); slowest:%n",
+                        event.getTimeTaken().toMillis(), beans, beanTotal.toMillis()));
+        for (Map.Entry<String, Duration> entry : selfTimes.subList(0, Math.min(top, selfTimes.size()))) {
+            report.append(String.format("  %6dms  %s%n", entry.getValue().toMillis(), entry.getKey()));
+        }
+        log.info(report.toString().stripTrailing());
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
@@ -0,0 +1,55 @@
+package com.ems.config;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs data seeding either inline, as part of startup, or on a background thread when
+ * app.startup.async-seeding is set, and lets jobs that need the seeded data wait for it.
+ */
+@Component
+public class StartupTasks {
+
+    private static final Log log = LogFactory.getLog(StartupTasks.class);
+
+    private final CompletableFuture<Void> seeded = new CompletableFuture<>();
+
+    @Value("${app.startup.async-seeding:false}")
+    private boolean asyncSeeding;
+
+    public void seed(Callable<?> seeding) throws Exception {
+        if (!asyncSeeding) {
+            try {
+                seeding.call();
+            } finally {
+                seeded.complete(null);
+            }
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            long started = System.nanoTime();
+            try {
+                seeding.call();
+                log.info("Background seeding finished in " + (System.nanoTime() - started) / 1_000_000 + "ms");
+            } catch (Exception e) {
+                log.error("Background seeding failed", e);
+            } finally {
+                seeded.complete(null);
+            }
+        }, "startup-seeding");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs the task once seeding has finished, right away if it already has.
+     */
+    public void afterSeeding(Runnable task) {
+        seeded.thenRun(task);
+    }
+}
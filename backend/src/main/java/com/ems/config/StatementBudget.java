@@ -0,0 +1,49 @@
+package com.ems.config;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Limits on the SQL statements one request may issue. LOG reports requests over the budget;
+ * FAIL also aborts them at the first statement over it, so regressions surface in development
+ * instead of in production latency.
+ */
+public class StatementBudget {
+    
+    public enum Mode {
+        LOG, FAIL
+    }
+    
+    private static final Log logger = LogFactory.getLog(StatementBudget.class);
+    
+    private final int maxStatements;
+    
+    private final int repeatThreshold;
+    
+    private final Mode mode;
+    
+    public StatementBudget(int maxStatements, int repeatThreshold, Mode mode) {
+        this.maxStatements = maxStatements;
+        this.repeatThreshold = repeatThreshold;
+        this.mode = mode;
+    }
+    
+    public StatementCounter.Scope open() {
+        StatementCounter.Scope scope = StatementCounter.openScope();
+        return mode == Mode.FAIL ? scope.failAbove(maxStatements) : scope;
+    }
+    
+    public void check(String request, StatementCounter.Scope scope) {
+        for (String repeated : scope.repeatedStatements(repeatThreshold)) {
+            logger.warn("Possible N+1 in " + request + ": " + repeated);
+        }
+        if (scope.getCount() > maxStatements) {
+            String message = request + " issued " + scope.getCount() + " SQL statements (budget " + maxStatements + "): " + scope.summary();
+            if (mode == Mode.FAIL) {
+                logger.error(message);
+            } else {
+                logger.warn(message);
+            }
+        }
+    }
+}
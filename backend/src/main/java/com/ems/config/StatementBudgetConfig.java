@@ -0,0 +1,44 @@
+package com.ems.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-request SQL statement budget (app.sql.budget.*). Streamed list bodies are checked
+ * page by page in EntityStreamer because they run after the request thread has returned.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql.budget.enabled", matchIfMissing = true)
+public class StatementBudgetConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> StatementInspectorChain.register(properties, new StatementCounter());
+    }
+    
+    @Bean
+    public RepositoryStatementAspect repositoryStatementAspect() {
+        return new RepositoryStatementAspect();
+    }
+    
+    @Bean
+    public StatementBudget statementBudget(@Value("${app.sql.budget.max-statements:25}") int maxStatements,
+                                           @Value("${app.sql.budget.repeat-threshold:5}") int repeatThreshold,
+                                           @Value("${app.sql.budget.mode:LOG}") StatementBudget.Mode mode) {
+        return new StatementBudget(maxStatements, repeatThreshold, mode);
+    }
+    
+    // Runs outside the security chain so statements issued during authentication are counted too
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(StatementBudget statementBudget) {
+        FilterRegistrationBean<StatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new StatementBudgetFilter(statementBudget));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
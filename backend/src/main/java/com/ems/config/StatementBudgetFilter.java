@@ -0,0 +1,30 @@
+package com.ems.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class StatementBudgetFilter extends OncePerRequestFilter {
+    
+    private final StatementBudget statementBudget;
+    
+    public StatementBudgetFilter(StatementBudget statementBudget) {
+        this.statementBudget = statementBudget;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatementCounter.Scope scope = statementBudget.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            statementBudget.check(request.getMethod() + " " + request.getRequestURI(), scope);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.ems.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a scope is open.
+ * Scopes nest (a test around a request), and each statement is attributed to the innermost
+ * repository method active when it ran, or for lazy loads and flushes to the last one that returned.
+ */
+public class StatementCounter implements StatementInspector {
+    
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    
+    private static final ThreadLocal<Deque<String>> ORIGINS = ThreadLocal.withInitial(ArrayDeque::new);
+    
+    private static final ThreadLocal<String> LAST_ORIGIN = new ThreadLocal<>();
+    
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            String origin = ORIGINS.get().peek();
+            if (origin == null) {
+                String last = LAST_ORIGIN.get();
+                origin = last != null ? "(after " + last + ")" : "(outside repository)";
+            }
+            for (Scope s = scope; s != null; s = s.parent) {
+                s.record(origin, sql);
+            }
+            for (Scope s = scope; s != null; s = s.parent) {
+                if (s.count > s.failAbove) {
+                    throw new RuntimeException("SQL statement budget of " + s.failAbove + " exceeded: " + s.summary());
+                }
+            }
+        }
+        return sql;
+    }
+    
+    public static Scope openScope() {
+        Scope scope = new Scope(CURRENT.get());
+        if (scope.parent == null) {
+            LAST_ORIGIN.remove();
+        }
+        CURRENT.set(scope);
+        return scope;
+    }
+    
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+    
+    static void enterOrigin(String origin) {
+        ORIGINS.get().push(origin);
+    }
+    
+    static void exitOrigin() {
+        LAST_ORIGIN.set(ORIGINS.get().pop());
+    }
+    
+    public static final class Scope implements AutoCloseable {
+        
+        private final Scope parent;
+        
+        private int count;
+        
+        private int failAbove = Integer.MAX_VALUE;
+        
+        // origin -> sql -> executions, in first-seen order
+        private final Map<String, Map<String, Integer>> executions = new LinkedHashMap<>();
+        
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+        
+        private void record(String origin, String sql) {
+            count++;
+            executions.computeIfAbsent(origin, o -> new LinkedHashMap<>()).merge(sql, 1, Integer::sum);
+        }
+        
+        /**
+         * Makes the statement that exceeds {@code max} throw, aborting the work that issued it.
+         */
+        public Scope failAbove(int max) {
+            this.failAbove = max;
+            return this;
+        }
+        
+        public int getCount() {
+            return count;
+        }
+        
+        /**
+         * Statements run at least {@code threshold} times, e.g. "40x EmployeeRepository.findById: select ...".
+         */
+        public List<String> repeatedStatements(int threshold) {
+            return executions.entrySet().stream()
+                    .flatMap(byOrigin -> byOrigin.getValue().entrySet().stream()
+                            .filter(bySql -> bySql.getValue() >= threshold)
+                            .map(bySql -> bySql.getValue() + "x " + byOrigin.getKey() + ": " + bySql.getKey()))
+                    .collect(Collectors.toList());
+        }
+        
+        /**
+         * Statement counts per origin, e.g. "EmployeeRepository.findById=40, (outside repository)=2".
+         */
+        public String summary() {
+            return executions.entrySet().stream()
+                    .map(byOrigin -> byOrigin.getKey() + "="
+                            + byOrigin.getValue().values().stream().mapToInt(Integer::intValue).sum())
+                    .collect(Collectors.joining(", "));
+        }
+        
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+                LAST_ORIGIN.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ems.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hibernate takes a single statement inspector; this runs several in order, each seeing the
+ * previous one's result.
+ */
+public class StatementInspectorChain implements StatementInspector {
+    
+    private final List<StatementInspector> inspectors;
+    
+    private StatementInspectorChain(List<StatementInspector> inspectors) {
+        this.inspectors = inspectors;
+    }
+    
+    /**
+     * Adds the inspector to the Hibernate properties, after any that is already configured.
+     */
+    public static void register(Map<String, Object> properties, StatementInspector inspector) {
+        properties.merge(AvailableSettings.STATEMENT_INSPECTOR, inspector, (existing, added) -> {
+            List<StatementInspector> inspectors = new ArrayList<>(existing instanceof StatementInspectorChain chain
+                    ? chain.inspectors : List.of((StatementInspector) existing));
+            inspectors.add(inspector);
+            return new StatementInspectorChain(inspectors);
+        });
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        for (StatementInspector inspector : inspectors) {
+            sql = inspector.inspect(sql);
+        }
+        return sql;
+    }
+}
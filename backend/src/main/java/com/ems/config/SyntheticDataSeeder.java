@@ -0,0 +1,390 @@
+package com.ems.config;
+
+import com.ems.entity.Attendance;
+import com.ems.entity.Employee;
+import com.ems.entity.User;
+import com.ems.service.DepartmentHierarchy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Fills an empty schema with large, reproducible volumes for performance work. Rows are generated in
+ * parallel and written with JDBC batch inserts using explicit ids; every entity draws from its own
+ * random stream derived from the seed and its id, so the data does not depend on thread scheduling.
+ */
+@Component
+@Profile("seed")
+public class SyntheticDataSeeder implements CommandLineRunner {
+
+    private static final Log log = LogFactory.getLog(SyntheticDataSeeder.class);
+
+    private static final String[] DEMO_EMPLOYEE_USERNAMES = {"john.doe", "jane.smith", "mike.johnson", "sarah.wilson", "david.brown"};
+
+    private static final String[] DEPARTMENT_NAMES = {
+        "Engineering", "Human Resources", "Finance", "Marketing", "Sales", "Operations", "Support", "Legal"
+    };
+
+    private static final String[] DESIGNATIONS = {
+        "Software Engineer", "Senior Software Engineer", "QA Engineer", "Team Lead", "HR Specialist",
+        "Accountant", "Sales Executive", "Support Engineer", "Manager"
+    };
+
+    private static final String[] FIRST_NAMES = {
+        "Ann", "Ben", "Chloe", "David", "Emma", "Farhan", "Grace", "Hiro", "Isha", "Jack", "Kavya", "Liam",
+        "Maria", "Noah", "Olivia", "Priya", "Quinn", "Ravi", "Sara", "Tom", "Uma", "Victor", "Wei", "Zara"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Brown", "Chen", "Davis", "Garcia", "Iyer", "Johnson", "Kim", "Lee", "Martin", "Nguyen", "Patel",
+        "Rossi", "Singh", "Smith", "Taylor", "Wilson"
+    };
+
+    // Distinct random streams per entity type
+    private static final long EMPLOYEE_STREAM = 1;
+    private static final long ATTENDANCE_STREAM = 2;
+    private static final long SALARY_STREAM = 3;
+
+    // allocationSize of the entity id generators
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, username, password, role, enabled) VALUES (?, ?, ?, ?, ?)";
+    private static final int[] USER_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN};
+
+    private static final String INSERT_DEPARTMENT =
+            "INSERT INTO departments (id, name, description, parent_id) VALUES (?, ?, ?, ?)";
+    private static final int[] DEPARTMENT_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.BIGINT};
+
+    private static final String INSERT_EMPLOYEE =
+            "INSERT INTO employees (id, name, email, department_id, designation, salary, join_date, status, user_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] EMPLOYEE_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.BIGINT,
+            Types.VARCHAR, Types.DECIMAL, Types.DATE, Types.VARCHAR, Types.BIGINT};
+
+    private static final String INSERT_ATTENDANCE =
+            "INSERT INTO attendance (id, employee_id, date, status, remarks) VALUES (?, ?, ?, ?, ?)";
+    private static final int[] ATTENDANCE_TYPES = {Types.BIGINT, Types.BIGINT, Types.DATE, Types.VARCHAR, Types.VARCHAR};
+
+    private static final String INSERT_SALARY =
+            "INSERT INTO salaries (id, employee_id, month, year, basic_pay, allowances, deductions, net_pay, generated_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] SALARY_TYPES = {Types.BIGINT, Types.BIGINT, Types.INTEGER, Types.INTEGER,
+            Types.DECIMAL, Types.DECIMAL, Types.DECIMAL, Types.DECIMAL, Types.DATE};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+
+    @Autowired
+    private StartupTasks startupTasks;
+
+    @Value("${seed.departments:200}")
+    private int departmentCount;
+
+    @Value("${seed.employees:100000}")
+    private int employeeCount;
+
+    @Value("${seed.attendance-years:3}")
+    private int attendanceYears;
+
+    @Value("${seed.salary-months:36}")
+    private int salaryMonths;
+
+    // Fixed end of the generated history, so a seed always yields the same rows
+    @Value("${seed.end-date:2024-12-31}")
+    private String endDateValue;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${seed.employees-per-task:500}")
+    private int employeesPerTask;
+
+    // 0 uses one thread per core
+    @Value("${seed.threads:0}")
+    private int threads;
+
+    private TransactionTemplate transactionTemplate;
+
+    private String passwordHash;
+
+    private LocalDate endDate;
+
+    private LocalDate attendanceStart;
+
+    private YearMonth firstSalaryMonth;
+
+    @Override
+    public void run(String... args) throws Exception {
+        startupTasks.seed(() -> {
+            seedSyntheticData();
+            return null;
+        });
+    }
+
+    private void seedSyntheticData() throws Exception {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class) > 0) {
+            log.info("Seed profile active but the database already has users, skipping synthetic data");
+            return;
+        }
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // BCrypt is deliberately slow; every seeded account shares one hash of the demo password
+        passwordHash = passwordEncoder.encode("password123");
+        endDate = LocalDate.parse(endDateValue);
+        attendanceStart = endDate.minusYears(attendanceYears).plusDays(1);
+        firstSalaryMonth = YearMonth.from(endDate).minusMonths(salaryMonths - 1L);
+
+        int threadCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        long started = System.nanoTime();
+        try {
+            seedDepartmentsAndStaff();
+
+            long users = runPhase(executor, "users", INSERT_USER, USER_TYPES, this::userRows);
+            long employees = runPhase(executor, "employees", INSERT_EMPLOYEE, EMPLOYEE_TYPES, this::employeeRows);
+            long attendance = runPhase(executor, "attendance", INSERT_ATTENDANCE, ATTENDANCE_TYPES, this::attendanceRows);
+            long salaries = runPhase(executor, "salaries", INSERT_SALARY, SALARY_TYPES, this::salaryRows);
+
+            resetSequence("users_seq", employeeCount + 3L);
+            resetSequence("departments_seq", departmentCount + 1L);
+            resetSequence("employees_seq", employeeCount + 1L);
+            resetSequence("attendance_seq", attendanceId(employeeCount + 1L, 0));
+            resetSequence("salaries_seq", salaryId(employeeCount + 1L, 0));
+
+            log.info(String.format("Synthetic data seeded in %ds: %d departments, %d users, %d employees, %d attendance, %d salaries",
+                    (System.nanoTime() - started) / 1_000_000_000L,
+                    departmentCount, users + 2, employees, attendance, salaries));
+            log.info("Admin - Username: admin, HR Manager - Username: hr.manager, Employees - Username: employee<id> " +
+                    "(first five: john.doe/jane.smith/mike.johnson/sarah.wilson/david.brown), Password: password123");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void seedDepartmentsAndStaff() {
+        List<Object[]> rows = new ArrayList<>(departmentCount);
+        for (long id = 1; id <= departmentCount; id++) {
+            String base = DEPARTMENT_NAMES[(int) ((id - 1) % DEPARTMENT_NAMES.length)];
+            String name = id <= DEPARTMENT_NAMES.length ? base : base + " " + ((id - 1) / DEPARTMENT_NAMES.length + 1);
+            rows.add(new Object[]{id, name, name + " department", parentDepartmentId(id)});
+        }
+        insert(INSERT_DEPARTMENT, DEPARTMENT_TYPES, rows);
+        departmentHierarchy.backfillIfNeeded();
+
+        List<Object[]> staff = List.of(
+                new Object[]{1L, "admin", passwordHash, User.Role.ADMIN.name(), true},
+                new Object[]{2L, "hr.manager", passwordHash, User.Role.HR.name(), true});
+        insert(INSERT_USER, USER_TYPES, staff);
+    }
+
+    /**
+     * Three levels: the first DEPARTMENT_NAMES are divisions, the next seven rounds are departments
+     * under them and the rest are teams under those departments, always sharing the division's name.
+     */
+    private static Long parentDepartmentId(long id) {
+        int divisions = DEPARTMENT_NAMES.length;
+        if (id <= divisions) {
+            return null;
+        }
+        if (id <= (long) divisions * divisions) {
+            return (id - 1) % divisions + 1;
+        }
+        int departments = divisions * (divisions - 1);
+        return (id - divisions * divisions - 1) % departments + divisions + 1;
+    }
+
+    /**
+     * Splits the employee id range into tasks, each generating the rows for its employees.
+     */
+    private long runPhase(ExecutorService executor, String name, String sql, int[] types,
+                          LongFunction<List<Object[]>> rowsForEmployee) throws InterruptedException, ExecutionException {
+        long started = System.nanoTime();
+        AtomicLong inserted = new AtomicLong();
+        List<Future<?>> tasks = new ArrayList<>();
+        for (long first = 1; first <= employeeCount; first += employeesPerTask) {
+            long from = first;
+            long to = Math.min(employeeCount, first + employeesPerTask - 1L);
+            tasks.add(executor.submit(() -> {
+                List<Object[]> batch = new ArrayList<>(batchSize);
+                for (long employeeId = from; employeeId <= to; employeeId++) {
+                    for (Object[] row : rowsForEmployee.apply(employeeId)) {
+                        batch.add(row);
+                        if (batch.size() == batchSize) {
+                            insert(sql, types, batch);
+                            inserted.addAndGet(batch.size());
+                            batch.clear();
+                        }
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    insert(sql, types, batch);
+                    inserted.addAndGet(batch.size());
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+
+        double seconds = Math.max((System.nanoTime() - started) / 1e9, 0.001);
+        log.info(String.format("Seeded %d %s rows in %.1fs (%.0f rows/s)", inserted.get(), name, seconds, inserted.get() / seconds));
+        return inserted.get();
+    }
+
+    private void insert(String sql, int[] types, List<Object[]> rows) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows, types));
+    }
+
+    private List<Object[]> userRows(long employeeId) {
+        String username = employeeId <= DEMO_EMPLOYEE_USERNAMES.length
+                ? DEMO_EMPLOYEE_USERNAMES[(int) employeeId - 1]
+                : "employee" + employeeId;
+        return List.<Object[]>of(new Object[]{userId(employeeId), username, passwordHash, User.Role.EMPLOYEE.name(), true});
+    }
+
+    private List<Object[]> employeeRows(long employeeId) {
+        SyntheticEmployee employee = employee(employeeId);
+        return List.<Object[]>of(new Object[]{employeeId, employee.name, "employee" + employeeId + "@company.com",
+                employee.departmentId, employee.designation, employee.salary, Date.valueOf(employee.joinDate),
+                employee.status.name(), userId(employeeId)});
+    }
+
+    private List<Object[]> attendanceRows(long employeeId) {
+        SyntheticEmployee employee = employee(employeeId);
+        SplittableRandom random = random(ATTENDANCE_STREAM, employeeId);
+        LocalDate first = employee.joinDate.isAfter(attendanceStart) ? employee.joinDate : attendanceStart;
+
+        List<Object[]> rows = new ArrayList<>();
+        for (LocalDate date = first; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            int roll = random.nextInt(100);
+            Attendance.AttendanceStatus status = roll < 85 ? Attendance.AttendanceStatus.PRESENT
+                    : roll < 92 ? Attendance.AttendanceStatus.LATE
+                    : roll < 95 ? Attendance.AttendanceStatus.HALF_DAY
+                    : Attendance.AttendanceStatus.ABSENT;
+            String remarks = status == Attendance.AttendanceStatus.PRESENT ? "" : status.name().replace('_', ' ').toLowerCase();
+            rows.add(new Object[]{attendanceId(employeeId, ChronoUnit.DAYS.between(attendanceStart, date)),
+                    employeeId, Date.valueOf(date), status.name(), remarks});
+        }
+        return rows;
+    }
+
+    private List<Object[]> salaryRows(long employeeId) {
+        SyntheticEmployee employee = employee(employeeId);
+        SplittableRandom random = random(SALARY_STREAM, employeeId);
+        YearMonth joined = YearMonth.from(employee.joinDate);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int index = 0; index < salaryMonths; index++) {
+            YearMonth month = firstSalaryMonth.plusMonths(index);
+            if (month.isBefore(joined)) {
+                continue;
+            }
+            BigDecimal allowances = BigDecimal.valueOf(random.nextInt(500, 5000)).setScale(2);
+            BigDecimal deductions = BigDecimal.valueOf(random.nextInt(0, 2500)).setScale(2);
+            rows.add(new Object[]{salaryId(employeeId, index), employeeId, month.getMonthValue(), month.getYear(),
+                    employee.salary, allowances, deductions, employee.salary.add(allowances).subtract(deductions),
+                    Date.valueOf(month.atEndOfMonth())});
+        }
+        return rows;
+    }
+
+    private SyntheticEmployee employee(long employeeId) {
+        SplittableRandom random = random(EMPLOYEE_STREAM, employeeId);
+        SyntheticEmployee employee = new SyntheticEmployee();
+        employee.name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        employee.departmentId = 1 + random.nextInt(departmentCount);
+        employee.designation = DESIGNATIONS[random.nextInt(DESIGNATIONS.length)];
+        employee.salary = BigDecimal.valueOf(25_000 + random.nextInt(0, 100) * 1_000L).setScale(2);
+        // Most employees joined before the generated history starts
+        employee.joinDate = endDate.minusDays(30 + random.nextInt(365 * (attendanceYears + 5)));
+        int roll = random.nextInt(100);
+        employee.status = roll < 95 ? Employee.Status.ACTIVE : roll < 98 ? Employee.Status.INACTIVE : Employee.Status.TERMINATED;
+        return employee;
+    }
+
+    private SplittableRandom random(long stream, long entityId) {
+        return new SplittableRandom(randomSeed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + entityId);
+    }
+
+    private static long userId(long employeeId) {
+        // Ids 1 and 2 are the admin and HR manager
+        return employeeId + 2;
+    }
+
+    private long attendanceId(long employeeId, long dayIndex) {
+        long days = ChronoUnit.DAYS.between(attendanceStart, endDate) + 1;
+        return (employeeId - 1) * days + dayIndex + 1;
+    }
+
+    private long salaryId(long employeeId, int monthIndex) {
+        return (employeeId - 1) * salaryMonths + monthIndex + 1;
+    }
+
+    /**
+     * Continues generated ids after the explicitly inserted ones. The pooled optimizer treats the
+     * next sequence value as the top of a block of ID_ALLOCATION_SIZE ids, so the block starting
+     * at nextId ends ID_ALLOCATION_SIZE - 1 later.
+     */
+    private void resetSequence(String sequence, long nextId) {
+        long nextValue = nextId + ID_ALLOCATION_SIZE - 1;
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("MySQL".equalsIgnoreCase(database)) {
+            // MySQL has no sequences; Hibernate emulates each one with a single-row table
+            jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ?", nextValue);
+        } else {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + nextValue);
+        }
+    }
+
+    private static class SyntheticEmployee {
+        private String name;
+        private long departmentId;
+        private String designation;
+        private BigDecimal salary;
+        private LocalDate joinDate;
+        private Employee.Status status;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ems.controller;
+
+import com.ems.security.LoginMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/admin")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+    
+    @Autowired
+    private LoginMetrics loginMetrics;
+    
+    @GetMapping("/login-metrics")
+    public ResponseEntity<Map<String, Object>> getLoginMetrics() {
+        return ResponseEntity.ok(loginMetrics.snapshot());
+    }
+}
@@ -1,17 +1,25 @@
 package com.ems.controller;
 
+import com.ems.config.JsonArrayStreamer;
+import com.ems.dto.AttendanceEntry;
 import com.ems.entity.Attendance;
+import com.ems.service.AttendanceBroadcaster;
 import com.ems.service.AttendanceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -21,11 +29,18 @@ public class AttendanceController {
     @Autowired
     private AttendanceService attendanceService;
     
+    @Autowired
+    private JsonArrayStreamer jsonArrayStreamer;
+    
+    @Autowired
+    private AttendanceBroadcaster attendanceBroadcaster;
+    
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
-    public ResponseEntity<List<Attendance>> getAllAttendance() {
-        List<Attendance> attendance = attendanceService.getAllAttendance();
-        return ResponseEntity.ok(attendance);
+    public ResponseEntity<StreamingResponseBody> getAllAttendance() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonArrayStreamer.stream(AttendanceEntry.class, attendanceService::streamAllAttendance));
     }
     
     @GetMapping("/employee/{employeeId}")
@@ -42,6 +57,21 @@ public class AttendanceController {
         return ResponseEntity.ok(attendance);
     }
     
+    // Live board: a "snapshot" event with the day's records, then "marked"/"deleted" events as they commit
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<SseEmitter> streamAttendanceBoard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) throws IOException {
+        LocalDate day = date != null ? date : LocalDate.now();
+        try {
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no")
+                    .body(attendanceBroadcaster.subscribe(day, () -> attendanceService.getAttendanceBoard(day)));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+        }
+    }
+    
     @PostMapping("/mark")
     public ResponseEntity<Attendance> markAttendance(@RequestBody Map<String, Object> request) {
         try {
@@ -69,8 +99,12 @@ public class AttendanceController {
     @GetMapping("/present-count/{date}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
     public ResponseEntity<Long> getPresentCountByDate(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        long count = attendanceService.getPresentCountByDate(date);
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long departmentId) {
+        // departmentId counts the whole subtree below that department
+        long count = departmentId != null
+                ? attendanceService.getPresentCountByDateForDepartment(date, departmentId)
+                : attendanceService.getPresentCountByDate(date);
         return ResponseEntity.ok(count);
     }
     
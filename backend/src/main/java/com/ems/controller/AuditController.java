@@ -0,0 +1,34 @@
+package com.ems.controller;
+
+import com.ems.audit.AuditLog;
+import com.ems.audit.AuditRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/admin/audit")
+@PreAuthorize("hasRole('ADMIN')")
+@ConditionalOnProperty(name = "app.audit.enabled", matchIfMissing = true)
+public class AuditController {
+    
+    @Autowired
+    private AuditLog auditLog;
+    
+    @GetMapping
+    public ResponseEntity<List<AuditRecord>> getAuditTrail(
+            @RequestParam AuditRecord.EntityType entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(auditLog.find(entityType, entityId, from, to, Math.min(limit, 10000)));
+    }
+}
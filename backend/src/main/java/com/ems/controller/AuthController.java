@@ -1,17 +1,22 @@
 package com.ems.controller;
 
-import com.ems.dto.JwtResponse;
 import com.ems.dto.LoginRequest;
 import com.ems.dto.SignupRequest;
-import com.ems.entity.Employee;
+import com.ems.dto.TokenRefreshRequest;
 import com.ems.entity.User;
-import com.ems.repository.EmployeeRepository;
 import com.ems.repository.UserRepository;
+import com.ems.security.JwtAuthTokenFilter;
 import com.ems.security.JwtUtils;
-
-
+import com.ems.security.LoginRateLimiter;
+import com.ems.security.PasswordVerificationExecutor;
+import com.ems.security.TokenRevocationList;
+import com.ems.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,7 +25,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
@@ -33,36 +38,57 @@ public class AuthController {
     @Autowired
     UserRepository userRepository;
     
-    @Autowired
-    EmployeeRepository employeeRepository;
-    
     @Autowired
     PasswordEncoder encoder;
     
     @Autowired
     JwtUtils jwtUtils;
     
+    @Autowired
+    TokenRevocationList revocationList;
+    
+    @Autowired
+    LoginRateLimiter loginRateLimiter;
+    
+    @Autowired
+    PasswordVerificationExecutor passwordVerificationExecutor;
+    
+    @Autowired
+    RefreshTokenService refreshTokenService;
+    
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        long retryAfterSeconds = loginRateLimiter.tryAcquire(loginRequest.getUsername(), request.getRemoteAddr());
+        if (retryAfterSeconds > 0) {
+            return tooManyRequests(retryAfterSeconds, "Error: Too many login attempts, please try again later");
+        }
+        
+        Authentication authentication;
+        try {
+            authentication = passwordVerificationExecutor.authenticate(authenticationManager,
+                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        } catch (RejectedExecutionException e) {
+            return tooManyRequests(1, "Error: Login service is busy, please try again later");
+        }
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
+        loginRateLimiter.recordSuccess(loginRequest.getUsername(), request.getRemoteAddr());
         
         User userPrincipal = (User) authentication.getPrincipal();
-        String jwt = jwtUtils.generateJwtToken(userPrincipal);
         
-        // Get employee ID if exists
-        Long employeeId = null;
-        Optional<Employee> employee = employeeRepository.findByUserId(userPrincipal.getId());
-        if (employee.isPresent()) {
-            employeeId = employee.get().getId();
-        }
+        // The employee is fetched together with the user during authentication
+        Long employeeId = userPrincipal.getEmployee() != null ? userPrincipal.getEmployee().getId() : null;
         
-        return ResponseEntity.ok(new JwtResponse(jwt,
-                userPrincipal.getUsername(),
-                userPrincipal.getRole().name(),
-                employeeId));
+        return ResponseEntity.ok(refreshTokenService.issueTokens(userPrincipal, employeeId));
+    }
+    
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest refreshRequest) {
+        try {
+            return ResponseEntity.ok(refreshTokenService.refresh(refreshRequest.getRefreshToken()));
+        } catch (RefreshTokenService.InvalidRefreshTokenException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: " + e.getMessage());
+        }
     }
     
     @PostMapping("/register")
@@ -84,4 +110,25 @@ public class AuthController {
         
         return ResponseEntity.ok("User registered successfully!");
     }
-}
\ No newline at end of file
+    
+    @PostMapping("/logout")
+    public ResponseEntity<?> logoutUser(HttpServletRequest request,
+                                        @RequestBody(required = false) TokenRefreshRequest refreshRequest) {
+        String jwt = JwtAuthTokenFilter.parseJwt(request);
+        Claims claims = jwt != null ? jwtUtils.parseToken(jwt) : null;
+        if (claims != null) {
+            revocationList.revokeToken(claims.getId(), claims.getExpiration());
+        }
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            refreshTokenService.revoke(refreshRequest.getRefreshToken());
+        }
+        
+        return ResponseEntity.ok("User logged out successfully!");
+    }
+    
+    private ResponseEntity<?> tooManyRequests(long retryAfterSeconds, String message) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(message);
+    }
+}
@@ -1,14 +1,21 @@
 package com.ems.controller;
 
+import com.ems.dto.DepartmentMoveRequest;
+import com.ems.dto.DepartmentSummary;
 import com.ems.entity.Department;
+import com.ems.service.AggregateVersions;
 import com.ems.service.DepartmentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.DateTimeException;
+import java.time.YearMonth;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -19,10 +26,41 @@ public class DepartmentController {
     @Autowired
     private DepartmentService departmentService;
     
+    @Autowired
+    private AggregateVersions aggregateVersions;
+    
     @GetMapping
-    public ResponseEntity<List<Department>> getAllDepartments() {
+    public ResponseEntity<List<Department>> getAllDepartments(WebRequest request) {
+        String etag = aggregateVersions.etag(AggregateVersions.Aggregate.DEPARTMENTS);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         List<Department> departments = departmentService.getAllDepartments();
-        return ResponseEntity.ok(departments);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(departments);
+    }
+    
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<List<DepartmentSummary>> getDepartmentSummaries(
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) Integer year,
+            WebRequest request) {
+        YearMonth current = YearMonth.now();
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.of(year != null ? year : current.getYear(), month != null ? month : current.getMonthValue());
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = departmentService.summaryEtag(yearMonth);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(departmentService.getDepartmentSummaries(yearMonth));
     }
     
     @GetMapping("/{id}")
@@ -32,6 +70,22 @@ public class DepartmentController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    // The department followed by everything below it, level by level
+    @GetMapping("/{id}/subtree")
+    public ResponseEntity<List<Department>> getDepartmentSubtree(@PathVariable Long id, WebRequest request) {
+        String etag = aggregateVersions.etag(AggregateVersions.Aggregate.DEPARTMENTS);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        List<Department> departments = departmentService.getSubtree(id);
+        if (departments.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(departments);
+    }
+    
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
     public ResponseEntity<Department> createDepartment(@Valid @RequestBody Department department) {
@@ -54,6 +108,17 @@ public class DepartmentController {
         }
     }
     
+    @PutMapping("/{id}/parent")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<Department> moveDepartment(@PathVariable Long id, @RequestBody DepartmentMoveRequest moveRequest) {
+        try {
+            Department movedDepartment = departmentService.moveDepartment(id, moveRequest.getParentId());
+            return ResponseEntity.ok(movedDepartment);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteDepartment(@PathVariable Long id) {
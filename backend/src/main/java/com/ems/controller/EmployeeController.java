@@ -1,16 +1,27 @@
 package com.ems.controller;
 
+import com.ems.config.JsonArrayStreamer;
+import com.ems.dto.DirectoryEntry;
 import com.ems.dto.EmployeeDto;
+import com.ems.entity.CompensationHistory;
+import com.ems.entity.Employee;
+import com.ems.service.AggregateVersions;
+import com.ems.service.CompensationService;
+import com.ems.service.EmployeeDirectory;
 import com.ems.service.EmployeeService;
-
-
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @CrossOrigin(origins = "http://localhost:3000")
@@ -21,11 +32,57 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
     
+    @Autowired
+    private JsonArrayStreamer jsonArrayStreamer;
+    
+    @Autowired
+    private AggregateVersions aggregateVersions;
+    
+    @Autowired
+    private EmployeeDirectory employeeDirectory;
+    
+    @Autowired
+    private CompensationService compensationService;
+    
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
-    public ResponseEntity<List<EmployeeDto>> getAllEmployees() {
-        List<EmployeeDto> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<StreamingResponseBody> getAllEmployees(WebRequest request) {
+        String etag = employeeListEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonArrayStreamer.stream(EmployeeDto.class, employeeService::streamAllEmployees));
+    }
+    
+    // Directory lookups are answered from memory; they return no salary, email or account data
+    @GetMapping("/directory")
+    public ResponseEntity<List<DirectoryEntry>> searchDirectory(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(defaultValue = "false") boolean includeSubdepartments,
+            @RequestParam(required = false) String designation,
+            @RequestParam(required = false) Employee.Status status,
+            @RequestParam(defaultValue = "100") int limit,
+            WebRequest request) {
+        String etag = employeeListEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        List<DirectoryEntry> entries = employeeDirectory.search(name, departmentId, includeSubdepartments,
+                designation, status, Math.max(1, Math.min(limit, 1000)));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(entries);
+    }
+    
+    @GetMapping("/directory/{id}")
+    public ResponseEntity<DirectoryEntry> getDirectoryEntry(@PathVariable Long id) {
+        return employeeDirectory.get(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/{id}")
@@ -36,6 +93,22 @@ public class EmployeeController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping("/{id}/compensation")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR') or (hasRole('EMPLOYEE') and @employeeService.isCurrentEmployee(#id))")
+    public ResponseEntity<List<CompensationHistory>> getCompensationHistory(@PathVariable Long id) {
+        return ResponseEntity.ok(compensationService.getHistory(id));
+    }
+    
+    @GetMapping(value = "/{id}/compensation", params = "asOf")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR') or (hasRole('EMPLOYEE') and @employeeService.isCurrentEmployee(#id))")
+    public ResponseEntity<CompensationHistory> getCompensationAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return compensationService.getCompensationAsOf(id, asOf)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
     public ResponseEntity<EmployeeDto> createEmployee(@Valid @RequestBody EmployeeDto employeeDto) {
@@ -67,15 +140,32 @@ public class EmployeeController {
     
     @GetMapping("/department/{departmentId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
-    public ResponseEntity<List<EmployeeDto>> getEmployeesByDepartment(@PathVariable Long departmentId) {
-        List<EmployeeDto> employees = employeeService.getEmployeesByDepartment(departmentId);
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<List<EmployeeDto>> getEmployeesByDepartment(
+            @PathVariable Long departmentId,
+            @RequestParam(defaultValue = "false") boolean includeSubdepartments,
+            WebRequest request) {
+        String etag = employeeListEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        List<EmployeeDto> employees = includeSubdepartments
+                ? employeeService.getEmployeesByDepartmentSubtree(departmentId)
+                : employeeService.getEmployeesByDepartment(departmentId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(employees);
     }
     
+    
     @GetMapping("/count/active")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
     public ResponseEntity<Long> getActiveEmployeeCount() {
         long count = employeeService.getActiveEmployeeCount();
         return ResponseEntity.ok(count);
     }
+    
+    // EmployeeDto carries the department name
+    private String employeeListEtag() {
+        return aggregateVersions.etag(AggregateVersions.Aggregate.EMPLOYEES, AggregateVersions.Aggregate.DEPARTMENTS);
+    }
 }
\ No newline at end of file
@@ -5,14 +5,19 @@ import com.ems.service.PdfService;
 import com.ems.service.SalaryService;
 
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
@@ -22,8 +27,13 @@ public class PayslipController {
     @Autowired
     private SalaryService salaryService;
     
+    // Resolved on first use, so the fast-startup profile can leave iText out of startup
+    private Supplier<PdfService> pdfService;
+    
     @Autowired
-    private PdfService pdfService;
+    public void setPdfService(ObjectProvider<PdfService> pdfServiceProvider) {
+        this.pdfService = SingletonSupplier.of(pdfServiceProvider::getObject);
+    }
     
     @GetMapping("/download/{employeeId}/{month}/{year}")
     public ResponseEntity<byte[]> downloadPayslip(
@@ -38,7 +48,7 @@ public class PayslipController {
             }
             
             Salary salary = salaryOpt.get();
-            byte[] pdfBytes = pdfService.generatePayslipPdf(salary);
+            byte[] pdfBytes = pdfService.get().getPayslipPdf(salary);
             
             String filename = "payslip_" + salary.getEmployee().getName().replace(" ", "_") + 
                             "_" + month + "_" + year + ".pdf";
@@ -68,7 +78,7 @@ public class PayslipController {
             }
             
             Salary salary = salaryOpt.get();
-            byte[] pdfBytes = pdfService.generatePayslipPdf(salary);
+            byte[] pdfBytes = pdfService.get().getPayslipPdf(salary);
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
@@ -80,4 +90,33 @@ public class PayslipController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+    
+    @GetMapping("/download/{employeeId}/annual/{year}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR') or @employeeService.isCurrentEmployee(#employeeId)")
+    public ResponseEntity<byte[]> downloadAnnualStatement(
+            @PathVariable Long employeeId,
+            @PathVariable int year) {
+        try {
+            List<Salary> salaries = salaryService.getSalariesByEmployeeAndYear(employeeId, year);
+            
+            if (salaries.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            byte[] pdfBytes = pdfService.get().generateAnnualStatementPdf(salaries, year);
+            
+            String filename = "salary_statement_" + salaries.get(0).getEmployee().getName().replace(" ", "_") + 
+                            "_" + year + ".pdf";
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_PDF);
+            headers.setContentDispositionFormData("attachment", filename);
+            headers.setContentLength(pdfBytes.length);
+            
+            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.ems.controller;
+
+import com.ems.dto.HeadcountPoint;
+import com.ems.service.HeadcountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/reports")
+@PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+public class ReportController {
+    
+    @Autowired
+    private HeadcountService headcountService;
+    
+    @GetMapping("/headcount")
+    public ResponseEntity<List<HeadcountPoint>> getHeadcount(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(defaultValue = "DAY") HeadcountService.Interval interval) {
+        try {
+            return ResponseEntity.ok(headcountService.getHeadcountSeries(from, to, departmentId, interval));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package com.ems.controller;
 
+import com.ems.config.JsonArrayStreamer;
+import com.ems.dto.SalaryEntry;
+import com.ems.dto.SalaryRevisionRequest;
 import com.ems.entity.Salary;
+import com.ems.service.AggregateVersions;
+import com.ems.service.CompensationService;
 import com.ems.service.SalaryService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -21,17 +31,38 @@ public class SalaryController {
     @Autowired
     private SalaryService salaryService;
     
+    @Autowired
+    private JsonArrayStreamer jsonArrayStreamer;
+    
+    @Autowired
+    private AggregateVersions aggregateVersions;
+    
+    @Autowired
+    private CompensationService compensationService;
+    
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
-    public ResponseEntity<List<Salary>> getAllSalaries() {
-        List<Salary> salaries = salaryService.getAllSalaries();
-        return ResponseEntity.ok(salaries);
+    public ResponseEntity<List<SalaryEntry>> getAllSalaries(WebRequest request) {
+        String etag = salaryListEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        List<SalaryEntry> salaries = salaryService.getAllSalaries();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(salaries);
     }
     
     @GetMapping("/employee/{employeeId}")
-    public ResponseEntity<List<Salary>> getSalariesByEmployee(@PathVariable Long employeeId) {
-        List<Salary> salaries = salaryService.getSalariesByEmployee(employeeId);
-        return ResponseEntity.ok(salaries);
+    public ResponseEntity<List<SalaryEntry>> getSalariesByEmployee(@PathVariable Long employeeId, WebRequest request) {
+        String etag = salaryListEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        List<SalaryEntry> salaries = salaryService.getSalariesByEmployee(employeeId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(salaries);
     }
     
     @GetMapping("/employee/{employeeId}/month/{month}/year/{year}")
@@ -64,13 +95,46 @@ public class SalaryController {
         }
     }
     
+    // Records for every active employee without one for the month, at the rate in effect on its last day
+    @PostMapping("/generate/month/{month}/year/{year}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<?> generatePayroll(@PathVariable int month, @PathVariable int year) {
+        try {
+            int generated = salaryService.generatePayroll(month, year);
+            return ResponseEntity.ok(Map.of("month", month, "year", year, "generated", generated));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
     @GetMapping("/month/{month}/year/{year}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
-    public ResponseEntity<List<Salary>> getSalariesByMonth(
+    public ResponseEntity<StreamingResponseBody> getSalariesByMonth(
             @PathVariable int month,
-            @PathVariable int year) {
-        List<Salary> salaries = salaryService.getSalariesByMonth(month, year);
-        return ResponseEntity.ok(salaries);
+            @PathVariable int year,
+            @RequestParam(required = false) Long departmentId,
+            WebRequest request) {
+        String etag = salaryListEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonArrayStreamer.stream(SalaryEntry.class, departmentId != null
+                        ? action -> salaryService.streamSalariesByMonthForDepartment(month, year, departmentId, action)
+                        : action -> salaryService.streamSalariesByMonth(month, year, action)));
+    }
+    
+    // e.g. {"departmentId": 3, "designation": "Accountant", "percentage": 6, "effectiveDate": "2025-01-01"}
+    @PostMapping("/revisions")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HR')")
+    public ResponseEntity<?> reviseSalaries(@Valid @RequestBody SalaryRevisionRequest request) {
+        try {
+            return ResponseEntity.ok(compensationService.reviseSalaries(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
     }
     
     @PutMapping("/{id}")
@@ -97,4 +161,10 @@ public class SalaryController {
         salaryService.deleteSalary(id);
         return ResponseEntity.noContent().build();
     }
+    
+    // Salary entries carry the employee's and department's names
+    private String salaryListEtag() {
+        return aggregateVersions.etag(AggregateVersions.Aggregate.SALARIES,
+                AggregateVersions.Aggregate.EMPLOYEES, AggregateVersions.Aggregate.DEPARTMENTS);
+    }
 }
\ No newline at end of file
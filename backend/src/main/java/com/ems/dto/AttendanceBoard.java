@@ -0,0 +1,13 @@
+package com.ems.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class AttendanceBoard {
+    private LocalDate date;
+    private long presentCount;
+    private List<AttendanceEntry> entries;
+}
@@ -0,0 +1,21 @@
+package com.ems.dto;
+
+import com.ems.entity.Attendance;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceEntry {
+    private Long id;
+    private Long employeeId;
+    private String employeeName;
+    private Long departmentId;
+    private LocalDate date;
+    private Attendance.AttendanceStatus status;
+    private String remarks;
+}
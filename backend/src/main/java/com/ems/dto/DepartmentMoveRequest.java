@@ -0,0 +1,9 @@
+package com.ems.dto;
+
+import lombok.Data;
+
+@Data
+public class DepartmentMoveRequest {
+    // Null moves the department to the top level
+    private Long parentId;
+}
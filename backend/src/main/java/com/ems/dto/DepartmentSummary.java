@@ -0,0 +1,21 @@
+package com.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentSummary {
+    private Long id;
+    private String name;
+    private Long parentId;
+    private long activeCount;
+    private long inactiveCount;
+    private long terminatedCount;
+    // Net pay of the salaries generated for the requested month
+    private BigDecimal payroll;
+}
@@ -0,0 +1,18 @@
+package com.ems.dto;
+
+import com.ems.entity.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectoryEntry {
+    private Long id;
+    private String name;
+    private Long departmentId;
+    private String departmentName;
+    private String designation;
+    private Employee.Status status;
+}
@@ -0,0 +1,15 @@
+package com.ems.dto;
+
+import com.ems.entity.Employee;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+public class HeadcountPoint {
+    private LocalDate date;
+    private Map<Employee.Status, Long> headcount = new EnumMap<>(Employee.Status.class);
+    private long total;
+}
@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class JwtResponse {
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private String username;
     private String role;
@@ -20,4 +21,9 @@ public class JwtResponse {
         this.role = role;
         this.employeeId = employeeId;
     }
-}
\ No newline at end of file
+    
+    public JwtResponse(String token, String refreshToken, String username, String role, Long employeeId) {
+        this(token, username, role, employeeId);
+        this.refreshToken = refreshToken;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryEntry {
+    private Long id;
+    private Long employeeId;
+    private String employeeName;
+    private Long departmentId;
+    private String departmentName;
+    private int month;
+    private int year;
+    private BigDecimal basicPay;
+    private BigDecimal allowances;
+    private BigDecimal deductions;
+    private BigDecimal netPay;
+    private LocalDate generatedDate;
+}
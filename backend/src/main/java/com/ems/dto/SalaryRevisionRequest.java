@@ -0,0 +1,32 @@
+package com.ems.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class SalaryRevisionRequest {
+    // Without a department or designation the revision covers every active employee
+    private Long departmentId;
+    
+    private boolean includeSubdepartments;
+    
+    private String designation;
+    
+    @NotNull(message = "Percentage is required")
+    @DecimalMin(value = "-100.0", inclusive = false, message = "Percentage must be greater than -100")
+    @DecimalMax(value = "1000.0", message = "Percentage must be at most 1000")
+    private BigDecimal percentage;
+    
+    // employees.salary is updated right away, so a revision cannot wait for a later date
+    @NotNull(message = "Effective date is required")
+    @PastOrPresent(message = "Effective date cannot be in the future")
+    private LocalDate effectiveDate;
+    
+    private String reason;
+}
@@ -0,0 +1,10 @@
+package com.ems.dto;
+
+import lombok.Data;
+import jakarta.validation.constraints.NotBlank;
+
+@Data
+public class TokenRefreshRequest {
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
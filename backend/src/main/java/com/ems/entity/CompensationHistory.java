@@ -0,0 +1,52 @@
+package com.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * An employee's salary from effectiveFrom on, with the salary it replaced (null for a hire). The
+ * row in effect on a day is the one with the latest effectiveFrom on or before it, the later id
+ * winning a tie.
+ */
+@Entity
+@Table(name = "compensation_history", indexes = {
+    @Index(name = "idx_compensation_history_employee", columnList = "employee_id, effective_from"),
+    @Index(name = "idx_compensation_history_revision", columnList = "revision_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompensationHistory {
+    
+    // Bulk revisions insert these with INSERT ... SELECT, so the database assigns the ids
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+    
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+    
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal salary;
+    
+    @Column(name = "previous_salary", precision = 10, scale = 2)
+    private BigDecimal previousSalary;
+    
+    // Set for rows written by a bulk salary revision
+    @Column(name = "revision_id")
+    private Long revisionId;
+    
+    private String reason;
+    
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+}
@@ -3,7 +3,9 @@ package com.ems.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.util.List;
@@ -16,7 +18,8 @@ import java.util.List;
 public class Department {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "departments_seq")
+    @SequenceGenerator(name = "departments_seq", sequenceName = "departments_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
@@ -25,6 +28,17 @@ public class Department {
     @Column(length = 500)
     private String description;
     
+    // Set through parentId on create and PUT /{id}/parent; the service resolves it and keeps department_closure in step
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Department parent;
+    
+    @Column(name = "parent_id", insertable = false, updatable = false)
+    private Long parentId;
+    
     @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Employee> employees;
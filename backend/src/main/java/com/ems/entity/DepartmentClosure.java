@@ -0,0 +1,43 @@
+package com.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One row per (ancestor, descendant) pair of the department tree, including each department paired
+ * with itself at depth 0, so a whole subtree is a single indexed lookup on ancestor_id.
+ * Maintained by {@link com.ems.service.DepartmentHierarchy}.
+ */
+@Entity
+@Table(name = "department_closure", indexes = {
+    @Index(name = "idx_department_closure_descendant", columnList = "descendant_id, depth")
+})
+@IdClass(DepartmentClosure.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentClosure {
+    
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+    
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+    
+    @Column(nullable = false)
+    private int depth;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * An employee's department and status from effectiveDate on. The "from" columns hold the state it
+ * replaced (null for a hire), so a day's headcount change can be summed without replaying history.
+ */
+@Entity
+@Table(name = "employment_events", indexes = {
+    @Index(name = "idx_employment_events_employee", columnList = "employee_id, effective_date"),
+    @Index(name = "idx_employment_events_effective", columnList = "effective_date"),
+    @Index(name = "idx_employment_events_recorded", columnList = "recorded_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmploymentEvent {
+    
+    // Written one at a time and backfilled with INSERT ... SELECT, so an identity column is enough
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+    
+    @Column(name = "effective_date", nullable = false)
+    private LocalDate effectiveDate;
+    
+    @Column(name = "from_department_id")
+    private Long fromDepartmentId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private Employee.Status fromStatus;
+    
+    @Column(name = "to_department_id")
+    private Long toDepartmentId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private Employee.Status toStatus;
+    
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+    
+    // Earliest date a hire event had before its join date was corrected, so the rollup redoes the days in between
+    @Column(name = "corrected_from")
+    private LocalDate correctedFrom;
+}
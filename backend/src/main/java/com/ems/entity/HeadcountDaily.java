@@ -0,0 +1,52 @@
+package com.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Employees per department and status at the end of each day, written by
+ * {@link com.ems.service.HeadcountRollup}. Combinations with no employees have no row.
+ */
+@Entity
+@Table(name = "headcount_daily", indexes = {
+    @Index(name = "idx_headcount_daily_department", columnList = "department_id, snapshot_date")
+})
+@IdClass(HeadcountDaily.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeadcountDaily {
+    
+    // Stands in for employees without a department, which a key column cannot hold as null
+    public static final long NO_DEPARTMENT = 0L;
+    
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+    
+    @Id
+    @Column(name = "department_id")
+    private Long departmentId;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Employee.Status status;
+    
+    @Column(nullable = false)
+    private long headcount;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate snapshotDate;
+        private Long departmentId;
+        private Employee.Status status;
+    }
+}
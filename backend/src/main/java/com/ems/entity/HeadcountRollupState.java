@@ -0,0 +1,30 @@
+package com.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Single row recording how far headcount_daily and the events behind it have been rolled up
+@Entity
+@Table(name = "headcount_rollup_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeadcountRollupState {
+    
+    public static final long ID = 1L;
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "rolled_through", nullable = false)
+    private LocalDate rolledThrough;
+    
+    // Events recorded up to here are reflected; later ones may be backdated and force a re-roll
+    @Column(name = "events_recorded_through", nullable = false)
+    private Instant eventsRecordedThrough;
+}
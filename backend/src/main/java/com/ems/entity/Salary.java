@@ -18,7 +18,8 @@ import java.time.LocalDate;
 public class Salary {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "salaries_seq")
+    @SequenceGenerator(name = "salaries_seq", sequenceName = "salaries_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
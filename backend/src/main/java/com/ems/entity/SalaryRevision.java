@@ -0,0 +1,53 @@
+package com.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A bulk salary change requested by HR. completedAt stays null while chunks are still being applied.
+ */
+@Entity
+@Table(name = "salary_revisions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryRevision {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, precision = 7, scale = 4)
+    private BigDecimal percentage;
+    
+    @Column(name = "department_id")
+    private Long departmentId;
+    
+    @Column(name = "include_subdepartments", nullable = false)
+    private boolean includeSubdepartments;
+    
+    private String designation;
+    
+    @Column(name = "effective_date", nullable = false)
+    private LocalDate effectiveDate;
+    
+    private String reason;
+    
+    @Column(name = "employee_count", nullable = false)
+    private int employeeCount;
+    
+    @Column(name = "requested_by")
+    private String requestedBy;
+    
+    @Column(name = "requested_at", nullable = false)
+    private Instant requestedAt;
+    
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -1,12 +1,15 @@
 package com.ems.repository;
 
+import com.ems.dto.AttendanceEntry;
 import com.ems.entity.Attendance;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,4 +26,18 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     
     @Query("SELECT COUNT(a) FROM Attendance a WHERE a.date = :date AND a.status = 'PRESENT'")
     long countPresentByDate(@Param("date") LocalDate date);
+    
+    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.date = :date AND a.status = 'PRESENT' " +
+           "AND a.employee.department.id IN :departmentIds")
+    long countPresentByDateAndDepartmentIdIn(@Param("date") LocalDate date,
+                                             @Param("departmentIds") Collection<Long> departmentIds);
+    
+    @Query("SELECT new com.ems.dto.AttendanceEntry(a.id, e.id, e.name, d.id, a.date, a.status, a.remarks) " +
+           "FROM Attendance a JOIN a.employee e LEFT JOIN e.department d WHERE a.date = :date ORDER BY a.id")
+    List<AttendanceEntry> findEntriesByDate(@Param("date") LocalDate date);
+    
+    // Keyset page for streamed responses: the next records after the last id sent
+    @Query("SELECT new com.ems.dto.AttendanceEntry(a.id, e.id, e.name, d.id, a.date, a.status, a.remarks) " +
+           "FROM Attendance a JOIN a.employee e LEFT JOIN e.department d WHERE a.id > :afterId ORDER BY a.id")
+    List<AttendanceEntry> findEntriesAfter(@Param("afterId") Long afterId, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.ems.repository;
+
+import com.ems.entity.CompensationHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CompensationHistoryRepository extends JpaRepository<CompensationHistory, Long> {
+    
+    List<CompensationHistory> findByRevisionId(Long revisionId);
+    
+    // Employee id, salary before and after, for the rows a revision wrote in one chunk
+    @Query("SELECT h.employeeId, h.previousSalary, h.salary FROM CompensationHistory h " +
+           "WHERE h.revisionId = :revisionId AND h.employeeId BETWEEN :fromId AND :toId ORDER BY h.employeeId")
+    List<Object[]> findRevisedSalaries(@Param("revisionId") Long revisionId,
+                                       @Param("fromId") long fromId,
+                                       @Param("toId") long toId);
+    
+    List<CompensationHistory> findByEmployeeIdOrderByEffectiveFromAscIdAsc(Long employeeId);
+    
+    Optional<CompensationHistory> findFirstByEmployeeIdAndEffectiveFromLessThanEqualOrderByEffectiveFromDescIdDesc(
+            Long employeeId, LocalDate date);
+    
+    /**
+     * Employee id and the salary in effect on asOf, for every active employee who had joined by then
+     * and has no salary record for the month yet; employees without history fall back to their
+     * current salary. One pass over employees with an index probe per employee, instead of one
+     * query each.
+     */
+    @Query(value = "SELECT e.id, COALESCE(h.salary, e.salary) FROM employees e " +
+                   "LEFT JOIN compensation_history h ON h.employee_id = e.id AND h.effective_from <= :asOf " +
+                   "AND NOT EXISTS (SELECT 1 FROM compensation_history later WHERE later.employee_id = h.employee_id " +
+                   "AND later.effective_from <= :asOf AND (later.effective_from > h.effective_from " +
+                   "OR (later.effective_from = h.effective_from AND later.id > h.id))) " +
+                   "WHERE e.status = 'ACTIVE' AND e.join_date <= :asOf " +
+                   "AND NOT EXISTS (SELECT 1 FROM salaries s WHERE s.employee_id = e.id AND s.month = :month AND s.year = :year) " +
+                   "ORDER BY e.id",
+           nativeQuery = true)
+    List<Object[]> findPayrollRates(@Param("asOf") LocalDate asOf, @Param("month") int month, @Param("year") int year);
+    
+    // Hire rows are the only ones without a previous salary
+    @Query("SELECT MIN(h.effectiveFrom) FROM CompensationHistory h WHERE h.employeeId = :employeeId AND h.previousSalary IS NOT NULL")
+    LocalDate findEarliestChangeDate(@Param("employeeId") Long employeeId);
+    
+    @Modifying
+    @Query("UPDATE CompensationHistory h SET h.effectiveFrom = :joinDate WHERE h.employeeId = :employeeId AND h.previousSalary IS NULL")
+    int updateHireDate(@Param("employeeId") Long employeeId, @Param("joinDate") LocalDate joinDate);
+    
+    // Hire rows for employees that have none, e.g. rows that predate the table or were inserted outside JPA.
+    // If a revision was recorded first, the salary it replaced is the one they were hired on.
+    @Modifying
+    @Query(value = "INSERT INTO compensation_history (employee_id, effective_from, salary, reason, recorded_at) " +
+                   "SELECT e.id, e.join_date, COALESCE((SELECT h.previous_salary FROM compensation_history h " +
+                   "WHERE h.employee_id = e.id ORDER BY h.effective_from, h.id LIMIT 1), e.salary), 'Hire', :recordedAt " +
+                   "FROM employees e WHERE NOT EXISTS (SELECT 1 FROM compensation_history h " +
+                   "WHERE h.employee_id = e.id AND h.previous_salary IS NULL)",
+           nativeQuery = true)
+    int insertMissingHireRows(@Param("recordedAt") Instant recordedAt);
+    
+    // Must select the same rows as EmployeeRepository.applySalaryRevision, and run before it. A backdated
+    // revision takes effect no earlier than the employee's join date or latest history row, so it stays
+    // the row in effect today, as the salary it sets in employees does.
+    @Modifying
+    @Query(value = "INSERT INTO compensation_history (employee_id, effective_from, salary, previous_salary, revision_id, reason, recorded_at) " +
+                   "SELECT e.id, GREATEST(:effectiveFrom, e.join_date, COALESCE((SELECT MAX(h.effective_from) " +
+                   "FROM compensation_history h WHERE h.employee_id = e.id), e.join_date)), " +
+                   "ROUND(e.salary * :factor, 2), e.salary, :revisionId, :reason, CURRENT_TIMESTAMP " +
+                   "FROM employees e WHERE e.id BETWEEN :fromId AND :toId AND e.status = 'ACTIVE' " +
+                   "AND (:anyDepartment = TRUE OR e.department_id IN (:departmentIds)) " +
+                   "AND (:anyDesignation = TRUE OR e.designation = :designation)",
+           nativeQuery = true)
+    int insertSalaryRevision(@Param("revisionId") Long revisionId,
+                             @Param("effectiveFrom") LocalDate effectiveFrom,
+                             @Param("factor") BigDecimal factor,
+                             @Param("reason") String reason,
+                             @Param("fromId") long fromId,
+                             @Param("toId") long toId,
+                             @Param("anyDepartment") boolean anyDepartment,
+                             @Param("departmentIds") Collection<Long> departmentIds,
+                             @Param("anyDesignation") boolean anyDesignation,
+                             @Param("designation") String designation);
+}
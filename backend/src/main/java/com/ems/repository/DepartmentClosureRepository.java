@@ -0,0 +1,64 @@
+package com.ems.repository;
+
+import com.ems.entity.DepartmentClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DepartmentClosureRepository extends JpaRepository<DepartmentClosure, DepartmentClosure.Key> {
+    
+    @Query("SELECT c.descendantId FROM DepartmentClosure c WHERE c.ancestorId = :departmentId")
+    List<Long> findSubtreeIds(@Param("departmentId") Long departmentId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO department_closure (ancestor_id, descendant_id, depth) VALUES (:departmentId, :departmentId, 0)",
+           nativeQuery = true)
+    int insertSelf(@Param("departmentId") Long departmentId);
+    
+    // Links every ancestor of the new parent (and the parent itself) to every node of the subtree
+    @Modifying
+    @Query(value = "INSERT INTO department_closure (ancestor_id, descendant_id, depth) " +
+                   "SELECT p.ancestor_id, s.descendant_id, p.depth + s.depth + 1 " +
+                   "FROM department_closure p JOIN department_closure s ON s.ancestor_id = :departmentId " +
+                   "WHERE p.descendant_id = :parentId",
+           nativeQuery = true)
+    int attachSubtree(@Param("departmentId") Long departmentId, @Param("parentId") Long parentId);
+    
+    // Removes the links from the subtree's former ancestors; links inside the subtree stay
+    @Modifying
+    @Query("DELETE FROM DepartmentClosure c WHERE c.descendantId IN :subtreeIds AND c.ancestorId NOT IN :subtreeIds")
+    int detachSubtree(@Param("subtreeIds") Collection<Long> subtreeIds);
+    
+    @Modifying
+    @Query("DELETE FROM DepartmentClosure c WHERE c.descendantId = :departmentId OR c.ancestorId = :departmentId")
+    int deleteLinks(@Param("departmentId") Long departmentId);
+    
+    @Query(value = "SELECT COUNT(*) FROM departments d WHERE NOT EXISTS " +
+                   "(SELECT 1 FROM department_closure c WHERE c.ancestor_id = d.id AND c.descendant_id = d.id)",
+           nativeQuery = true)
+    long countDepartmentsWithoutClosure();
+    
+    @Modifying
+    @Query("DELETE FROM DepartmentClosure c")
+    int deleteAllLinks();
+    
+    @Modifying
+    @Query(value = "INSERT INTO department_closure (ancestor_id, descendant_id, depth) SELECT id, id, 0 FROM departments",
+           nativeQuery = true)
+    int insertAllSelfLinks();
+    
+    // Derives the links at depth + 1 from those at depth, one tree level per statement
+    @Modifying
+    @Query(value = "INSERT INTO department_closure (ancestor_id, descendant_id, depth) " +
+                   "SELECT c.ancestor_id, d.id, c.depth + 1 " +
+                   "FROM departments d JOIN department_closure c ON c.descendant_id = d.parent_id " +
+                   "WHERE c.depth = :depth",
+           nativeQuery = true)
+    int insertLinksBelowDepth(@Param("depth") int depth);
+}
@@ -1,13 +1,45 @@
 package com.ems.repository;
 
+import com.ems.dto.DepartmentSummary;
 import com.ems.entity.Department;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     Optional<Department> findByName(String name);
     Boolean existsByName(String name);
+    boolean existsByParentId(Long parentId);
+    
+    // A parent first met as another department's lazy reference would otherwise be listed as an
+    // uninitialized proxy, which does not serialize
+    @Query("SELECT d FROM Department d LEFT JOIN FETCH d.parent")
+    List<Department> findAllWithParents();
+    
+    // In id order, so concurrent callers take the locks in the same order and cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Department d ORDER BY d.id")
+    List<Department> lockAll();
+    
+    @Query("SELECT d FROM Department d JOIN DepartmentClosure c ON c.descendantId = d.id " +
+           "WHERE c.ancestorId = :departmentId ORDER BY c.depth, d.name")
+    List<Department> findSubtree(@Param("departmentId") Long departmentId);
+    
+    // Salaries are unique per employee and month, so the join does not inflate the counts
+    @Query("SELECT new com.ems.dto.DepartmentSummary(d.id, d.name, d.parentId, " +
+           "SUM(CASE WHEN e.status = 'ACTIVE' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.status = 'INACTIVE' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.status = 'TERMINATED' THEN 1 ELSE 0 END), " +
+           "COALESCE(SUM(s.netPay), 0)) " +
+           "FROM Department d LEFT JOIN d.employees e " +
+           "LEFT JOIN Salary s ON s.employee = e AND s.month = :month AND s.year = :year " +
+           "GROUP BY d.id, d.name, d.parentId ORDER BY d.name")
+    List<DepartmentSummary> summarize(@Param("month") int month, @Param("year") int year);
 }
\ No newline at end of file
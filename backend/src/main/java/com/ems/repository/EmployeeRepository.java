@@ -1,17 +1,34 @@
 package com.ems.repository;
 
+import com.ems.dto.DirectoryEntry;
 import com.ems.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByEmail(String email);
-    List<Employee> findByDepartmentId(Long departmentId);
+    
+    @Query("SELECT e FROM Employee e JOIN FETCH e.department d LEFT JOIN FETCH e.user WHERE d.id = :departmentId ORDER BY e.id")
+    List<Employee> findByDepartmentId(@Param("departmentId") Long departmentId);
+    
+    boolean existsByDepartmentId(Long departmentId);
+    
+    @Query("SELECT e FROM Employee e JOIN FETCH e.department d LEFT JOIN FETCH e.user WHERE d.id IN :departmentIds ORDER BY e.id")
+    List<Employee> findByDepartmentIdIn(@Param("departmentIds") Collection<Long> departmentIds);
     List<Employee> findByStatus(Employee.Status status);
     
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.status = 'ACTIVE'")
@@ -19,4 +36,37 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     
     @Query("SELECT e FROM Employee e WHERE e.user.id = :userId")
     Optional<Employee> findByUserId(Long userId);
+    
+    // Keyset page for streamed responses: the next employees after the last id sent
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.department LEFT JOIN FETCH e.user WHERE e.id > :afterId ORDER BY e.id")
+    List<Employee> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    @Query("SELECT new com.ems.dto.DirectoryEntry(e.id, e.name, d.id, d.name, e.designation, e.status) " +
+           "FROM Employee e LEFT JOIN e.department d ORDER BY e.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<DirectoryEntry> streamDirectoryEntries();
+    
+    @Query("SELECT MIN(e.id) FROM Employee e")
+    Long findMinId();
+    
+    @Query("SELECT MAX(e.id) FROM Employee e")
+    Long findMaxId();
+    
+    @Modifying
+    @Query(value = "UPDATE employees SET salary = ROUND(salary * :factor, 2) " +
+                   "WHERE id BETWEEN :fromId AND :toId AND status = 'ACTIVE' " +
+                   "AND (:anyDepartment = TRUE OR department_id IN (:departmentIds)) " +
+                   "AND (:anyDesignation = TRUE OR designation = :designation)",
+           nativeQuery = true)
+    int applySalaryRevision(@Param("factor") BigDecimal factor,
+                            @Param("fromId") long fromId,
+                            @Param("toId") long toId,
+                            @Param("anyDepartment") boolean anyDepartment,
+                            @Param("departmentIds") Collection<Long> departmentIds,
+                            @Param("anyDesignation") boolean anyDesignation,
+                            @Param("designation") String designation);
+    
+    @Query("SELECT new com.ems.dto.DirectoryEntry(e.id, e.name, d.id, d.name, e.designation, e.status) " +
+           "FROM Employee e LEFT JOIN e.department d WHERE e.id = :id")
+    Optional<DirectoryEntry> findDirectoryEntry(@Param("id") Long id);
 }
\ No newline at end of file
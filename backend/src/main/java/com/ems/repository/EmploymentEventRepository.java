@@ -0,0 +1,61 @@
+package com.ems.repository;
+
+import com.ems.entity.EmploymentEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface EmploymentEventRepository extends JpaRepository<EmploymentEvent, Long> {
+    
+    @Query("SELECT MIN(e.effectiveDate) FROM EmploymentEvent e")
+    LocalDate findEarliestEffectiveDate();
+    
+    @Query("SELECT MIN(e.effectiveDate) FROM EmploymentEvent e WHERE e.recordedAt > :after AND e.recordedAt <= :until")
+    LocalDate findEarliestEffectiveDateRecordedBetween(@Param("after") Instant after, @Param("until") Instant until);
+    
+    @Query("SELECT MIN(e.correctedFrom) FROM EmploymentEvent e WHERE e.recordedAt > :after AND e.recordedAt <= :until")
+    LocalDate findEarliestCorrectedFromRecordedBetween(@Param("after") Instant after, @Param("until") Instant until);
+    
+    // Hire events are the only ones without a previous status
+    @Query("SELECT MIN(e.effectiveDate) FROM EmploymentEvent e WHERE e.employeeId = :employeeId AND e.fromStatus IS NOT NULL")
+    LocalDate findEarliestChangeDate(@Param("employeeId") Long employeeId);
+    
+    @Modifying
+    @Query("UPDATE EmploymentEvent e SET e.correctedFrom = CASE WHEN e.correctedFrom IS NULL OR e.effectiveDate < e.correctedFrom " +
+           "THEN e.effectiveDate ELSE e.correctedFrom END, e.effectiveDate = :joinDate, e.recordedAt = :recordedAt " +
+           "WHERE e.employeeId = :employeeId AND e.fromStatus IS NULL")
+    int updateHireDate(@Param("employeeId") Long employeeId, @Param("joinDate") LocalDate joinDate,
+                       @Param("recordedAt") Instant recordedAt);
+    
+    // Each employee's latest state before the date, counted as [toDepartmentId, toStatus, count]
+    @Query("SELECT e.toDepartmentId, e.toStatus, COUNT(e) FROM EmploymentEvent e " +
+           "WHERE e.effectiveDate < :date AND NOT EXISTS (" +
+           "  SELECT n.id FROM EmploymentEvent n WHERE n.employeeId = e.employeeId AND n.effectiveDate < :date " +
+           "  AND (n.effectiveDate > e.effectiveDate OR (n.effectiveDate = e.effectiveDate AND n.id > e.id))) " +
+           "GROUP BY e.toDepartmentId, e.toStatus")
+    List<Object[]> countStatesBefore(@Param("date") LocalDate date);
+    
+    @Query("SELECT e.effectiveDate, e.toDepartmentId, e.toStatus, COUNT(e) FROM EmploymentEvent e " +
+           "WHERE e.effectiveDate BETWEEN :from AND :to GROUP BY e.effectiveDate, e.toDepartmentId, e.toStatus")
+    List<Object[]> countArrivalsBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    @Query("SELECT e.effectiveDate, e.fromDepartmentId, e.fromStatus, COUNT(e) FROM EmploymentEvent e " +
+           "WHERE e.effectiveDate BETWEEN :from AND :to AND e.fromStatus IS NOT NULL " +
+           "GROUP BY e.effectiveDate, e.fromDepartmentId, e.fromStatus")
+    List<Object[]> countDeparturesBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    // Hire events for employees that have none, e.g. rows that predate the table or were inserted outside JPA
+    @Modifying
+    @Query(value = "INSERT INTO employment_events (employee_id, effective_date, to_department_id, to_status, recorded_at) " +
+                   "SELECT emp.id, emp.join_date, emp.department_id, emp.status, :recordedAt FROM employees emp " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM employment_events e WHERE e.employee_id = emp.id)",
+           nativeQuery = true)
+    int insertMissingHireEvents(@Param("recordedAt") Instant recordedAt);
+}
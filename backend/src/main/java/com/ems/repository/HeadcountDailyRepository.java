@@ -0,0 +1,44 @@
+package com.ems.repository;
+
+import com.ems.entity.HeadcountDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HeadcountDailyRepository extends JpaRepository<HeadcountDaily, HeadcountDaily.Key> {
+    
+    @Query("SELECT MIN(h.snapshotDate) FROM HeadcountDaily h")
+    LocalDate findFirstSnapshotDate();
+    
+    @Modifying
+    @Query("DELETE FROM HeadcountDaily h WHERE h.snapshotDate >= :from")
+    int deleteFrom(@Param("from") LocalDate from);
+    
+    // Series rows are [snapshotDate, status, headcount]
+    @Query("SELECT h.snapshotDate, h.status, SUM(h.headcount) FROM HeadcountDaily h " +
+           "WHERE h.snapshotDate BETWEEN :from AND :to GROUP BY h.snapshotDate, h.status ORDER BY h.snapshotDate")
+    List<Object[]> sumByDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    @Query("SELECT h.snapshotDate, h.status, SUM(h.headcount) FROM HeadcountDaily h " +
+           "WHERE h.snapshotDate IN :dates GROUP BY h.snapshotDate, h.status ORDER BY h.snapshotDate")
+    List<Object[]> sumByDateIn(@Param("dates") Collection<LocalDate> dates);
+    
+    @Query("SELECT h.snapshotDate, h.status, SUM(h.headcount) FROM HeadcountDaily h " +
+           "WHERE h.departmentId IN :departmentIds AND h.snapshotDate BETWEEN :from AND :to " +
+           "GROUP BY h.snapshotDate, h.status ORDER BY h.snapshotDate")
+    List<Object[]> sumByDateBetweenForDepartments(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                  @Param("departmentIds") Collection<Long> departmentIds);
+    
+    @Query("SELECT h.snapshotDate, h.status, SUM(h.headcount) FROM HeadcountDaily h " +
+           "WHERE h.departmentId IN :departmentIds AND h.snapshotDate IN :dates " +
+           "GROUP BY h.snapshotDate, h.status ORDER BY h.snapshotDate")
+    List<Object[]> sumByDateInForDepartments(@Param("dates") Collection<LocalDate> dates,
+                                             @Param("departmentIds") Collection<Long> departmentIds);
+}
@@ -0,0 +1,9 @@
+package com.ems.repository;
+
+import com.ems.entity.HeadcountRollupState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HeadcountRollupStateRepository extends JpaRepository<HeadcountRollupState, Long> {
+}
@@ -1,9 +1,14 @@
 package com.ems.repository;
 
+import com.ems.dto.SalaryEntry;
 import com.ems.entity.Salary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +17,35 @@ public interface SalaryRepository extends JpaRepository<Salary, Long> {
     List<Salary> findByEmployeeId(Long employeeId);
     Optional<Salary> findByEmployeeIdAndMonthAndYear(Long employeeId, int month, int year);
     List<Salary> findByMonthAndYear(int month, int year);
-}
\ No newline at end of file
+    
+    @Query("SELECT s FROM Salary s JOIN FETCH s.employee e LEFT JOIN FETCH e.department " +
+           "WHERE e.id = :employeeId AND s.year = :year ORDER BY s.month")
+    List<Salary> findByEmployeeIdAndYear(@Param("employeeId") Long employeeId, @Param("year") int year);
+    
+    // Salary lists are returned as flat entries; the entity's employee is lazy and cannot be serialized once the session closes
+    @Query("SELECT new com.ems.dto.SalaryEntry(s.id, e.id, e.name, d.id, d.name, s.month, s.year, " +
+           "s.basicPay, s.allowances, s.deductions, s.netPay, s.generatedDate) " +
+           "FROM Salary s JOIN s.employee e LEFT JOIN e.department d ORDER BY s.id")
+    List<SalaryEntry> findAllEntries();
+    
+    @Query("SELECT new com.ems.dto.SalaryEntry(s.id, e.id, e.name, d.id, d.name, s.month, s.year, " +
+           "s.basicPay, s.allowances, s.deductions, s.netPay, s.generatedDate) " +
+           "FROM Salary s JOIN s.employee e LEFT JOIN e.department d WHERE e.id = :employeeId ORDER BY s.year, s.month")
+    List<SalaryEntry> findEntriesByEmployeeId(@Param("employeeId") Long employeeId);
+    
+    // Keyset pages for streamed responses: the next rows after the last id sent
+    @Query("SELECT new com.ems.dto.SalaryEntry(s.id, e.id, e.name, d.id, d.name, s.month, s.year, " +
+           "s.basicPay, s.allowances, s.deductions, s.netPay, s.generatedDate) " +
+           "FROM Salary s JOIN s.employee e LEFT JOIN e.department d " +
+           "WHERE s.month = :month AND s.year = :year AND s.id > :afterId ORDER BY s.id")
+    List<SalaryEntry> findEntriesByMonthAndYear(@Param("month") int month, @Param("year") int year,
+                                                @Param("afterId") Long afterId, Limit limit);
+    
+    @Query("SELECT new com.ems.dto.SalaryEntry(s.id, e.id, e.name, d.id, d.name, s.month, s.year, " +
+           "s.basicPay, s.allowances, s.deductions, s.netPay, s.generatedDate) " +
+           "FROM Salary s JOIN s.employee e JOIN e.department d " +
+           "WHERE s.month = :month AND s.year = :year AND d.id IN :departmentIds AND s.id > :afterId ORDER BY s.id")
+    List<SalaryEntry> findEntriesByMonthAndYearAndDepartmentIdIn(@Param("month") int month, @Param("year") int year,
+                                                                 @Param("departmentIds") Collection<Long> departmentIds,
+                                                                 @Param("afterId") Long afterId, Limit limit);
+}
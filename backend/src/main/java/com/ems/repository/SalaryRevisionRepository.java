@@ -0,0 +1,9 @@
+package com.ems.repository;
+
+import com.ems.entity.SalaryRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SalaryRevisionRepository extends JpaRepository<SalaryRevision, Long> {
+}
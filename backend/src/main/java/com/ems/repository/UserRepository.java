@@ -1,13 +1,21 @@
 package com.ems.repository;
 
 import com.ems.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // The employee side of the one-to-one is loaded with the user anyway, so join it in the same query
+    @EntityGraph(attributePaths = "employee")
     Optional<User> findByUsername(String username);
     Boolean existsByUsername(String username);
+    
+    @Query("SELECT u.id FROM User u WHERE u.enabled = false")
+    List<Long> findDisabledUserIds();
 }
\ No newline at end of file
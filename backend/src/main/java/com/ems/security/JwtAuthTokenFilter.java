@@ -1,10 +1,12 @@
 package com.ems.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -25,29 +27,58 @@ public class JwtAuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
     
+    @Autowired
+    private TokenRevocationList revocationList;
+    
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
+    
+    private final RateLimitedLog failureLog;
+    
+    @Autowired
+    public JwtAuthTokenFilter(@Value("${app.logging.auth-failures-per-minute:10}") int authFailuresPerMinute) {
+        this.failureLog = new RateLimitedLog(logger, authFailuresPerMinute);
+    }
+    
+    // For use without a Spring context (benchmarks)
+    public JwtAuthTokenFilter(int authFailuresPerMinute, JwtUtils jwtUtils, UserDetailsService userDetailsService,
+                              TokenRevocationList revocationList) {
+        this(authFailuresPerMinute);
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
+    }
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            Claims claims = jwt != null ? jwtUtils.parseToken(jwt) : null;
+            if (claims != null && !revocationList.isRevoked(claims)) {
+                // Tokens carrying a role claim are self-contained; older tokens still fall back to a user lookup
+                UserDetails userDetails = claims.get(JwtUtils.CLAIM_ROLE) != null
+                        ? JwtUserPrincipal.fromClaims(claims)
+                        : userDetailsService.loadUserByUsername(claims.getSubject());
+                if (userDetails.isEnabled()) {
+                    UsernamePasswordAuthenticationToken authentication = 
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(authenticationDetailsSource.buildDetails(request));
+                    
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
-            logger.error("Cannot set user authentication: {}", e);
+            // Typically a token for a user that no longer exists; the stack trace adds nothing at request rate
+            failureLog.warn("Cannot set user authentication: " + e);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Authentication failure detail", e);
+            }
         }
         
         filterChain.doFilter(request, response);
     }
     
-    private String parseJwt(HttpServletRequest request) {
+    public static String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
         
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
@@ -0,0 +1,96 @@
+package com.ems.security;
+
+import com.ems.entity.User;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticated principal rebuilt from the signed claims of an access token,
+ * so requests can be authorized without loading the user from the database.
+ */
+public class JwtUserPrincipal implements UserDetails {
+    
+    private static final Map<User.Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(User.Role.class);
+    
+    static {
+        for (User.Role role : User.Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+    
+    private final Long id;
+    private final String username;
+    private final User.Role role;
+    private final Long employeeId;
+    
+    public JwtUserPrincipal(Long id, String username, User.Role role, Long employeeId) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.employeeId = employeeId;
+    }
+    
+    public static JwtUserPrincipal fromClaims(Claims claims) {
+        Number id = claims.get(JwtUtils.CLAIM_USER_ID, Number.class);
+        Number employeeId = claims.get(JwtUtils.CLAIM_EMPLOYEE_ID, Number.class);
+        return new JwtUserPrincipal(
+                id != null ? id.longValue() : null,
+                claims.getSubject(),
+                User.Role.valueOf(claims.get(JwtUtils.CLAIM_ROLE, String.class)),
+                employeeId != null ? employeeId.longValue() : null);
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public User.Role getRole() {
+        return role;
+    }
+    
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES.get(role);
+    }
+    
+    @Override
+    public String getPassword() {
+        return null;
+    }
+    
+    @Override
+    public String getUsername() {
+        return username;
+    }
+    
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+    
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
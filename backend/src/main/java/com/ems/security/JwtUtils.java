@@ -1,7 +1,11 @@
 package com.ems.security;
 
+import com.ems.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -10,25 +14,67 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtils {
     
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_EMPLOYEE_ID = "eid";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
     
+    @Value("${app.logging.auth-failures-per-minute:10}")
+    private int authFailuresPerMinute = 10;
+    
+    // Key and parser are immutable and thread-safe, so build them once instead of per token
+    private SecretKey signingKey;
+    
+    private JwtParser jwtParser;
+    
+    // Expired and forged tokens arrive at request rate, so their log lines are rate-limited
+    private RateLimitedLog rejectedTokenLog;
+    
+    public JwtUtils() {
+    }
+    
+    // For use without a Spring context (benchmarks); call init() afterwards
+    public JwtUtils(String jwtSecret, int jwtExpirationMs) {
+        this.jwtSecret = jwtSecret;
+        this.jwtExpirationMs = jwtExpirationMs;
+    }
+    
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        rejectedTokenLog = new RateLimitedLog(LogFactory.getLog(JwtUtils.class), authFailuresPerMinute);
+    }
+    
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
     
     public String generateJwtToken(UserDetails userPrincipal) {
         return generateTokenFromUsername(userPrincipal.getUsername());
     }
     
+    public String generateJwtToken(User user, Long employeeId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        if (employeeId != null) {
+            claims.put(CLAIM_EMPLOYEE_ID, employeeId);
+        }
+        return createToken(claims, user.getUsername());
+    }
+    
     public String generateTokenFromUsername(String username) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, username);
@@ -38,6 +84,7 @@ public class JwtUtils {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
@@ -58,11 +105,7 @@ public class JwtUtils {
     }
     
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
     
     private Boolean isTokenExpired(String token) {
@@ -70,24 +113,33 @@ public class JwtUtils {
         return expiration.before(new Date());
     }
     
-    public Boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the signature and expiry and returns the claims in a single parse,
+     * or null when the token is not acceptable.
+     */
+    public Claims parseToken(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (MalformedJwtException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
+            rejectedTokenLog.warn("Invalid JWT token: " + e.getMessage());
+        } catch (SignatureException e) {
+            rejectedTokenLog.warn("Invalid JWT signature: " + e.getMessage());
         } catch (ExpiredJwtException e) {
-            System.err.println("JWT token is expired: " + e.getMessage());
+            rejectedTokenLog.warn("JWT token is expired: " + e.getMessage());
         } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
+            rejectedTokenLog.warn("JWT token is unsupported: " + e.getMessage());
         } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
+            rejectedTokenLog.warn("JWT claims string is empty: " + e.getMessage());
         }
-        return false;
+        return null;
+    }
+    
+    public Boolean validateJwtToken(String authToken) {
+        return parseToken(authToken) != null;
     }
     
     public Boolean validateToken(String token, UserDetails userDetails) {
         final String username = getUserNameFromJwtToken(token);
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.ems.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class LoginMetrics implements MeterBinder {
+    
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder verificationNanos = new LongAdder();
+    private final LongAccumulator maxVerificationNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder rejectedBusy = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    
+    private volatile Timer verificationTimer;
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        verificationTimer = Timer.builder("ems.auth.password.verification")
+                .publishPercentileHistogram()
+                .register(registry);
+        FunctionCounter.builder("ems.auth.login.rejected", rejectedBusy, LongAdder::sum)
+                .tag("reason", "busy")
+                .register(registry);
+        FunctionCounter.builder("ems.auth.login.rejected", rateLimited, LongAdder::sum)
+                .tag("reason", "rate-limited")
+                .register(registry);
+    }
+    
+    public void recordVerification(long nanos) {
+        Timer timer = verificationTimer;
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        verifications.increment();
+        verificationNanos.add(nanos);
+        maxVerificationNanos.accumulate(nanos);
+    }
+    
+    public void recordRejectedBusy() {
+        rejectedBusy.increment();
+    }
+    
+    public void recordRateLimited() {
+        rateLimited.increment();
+    }
+    
+    public long getVerifications() {
+        return verifications.sum();
+    }
+    
+    public long getRejectedBusy() {
+        return rejectedBusy.sum();
+    }
+    
+    public long getRateLimited() {
+        return rateLimited.sum();
+    }
+    
+    public Map<String, Object> snapshot() {
+        long count = verifications.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("verifications", count);
+        metrics.put("verificationMeanMs", count == 0 ? 0.0 : verificationNanos.sum() / (double) count / 1_000_000);
+        metrics.put("verificationMaxMs", TimeUnit.NANOSECONDS.toMillis(maxVerificationNanos.get()));
+        metrics.put("rejectedBusy", rejectedBusy.sum());
+        metrics.put("rateLimited", rateLimited.sum());
+        return metrics;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ems.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class LoginRateLimiter {
+    
+    @Autowired
+    private LoginMetrics loginMetrics;
+    
+    @Value("${auth.rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+    
+    @Value("${auth.rate-limit.ip.refill-per-minute:20}")
+    private int ipRefillPerMinute;
+    
+    @Value("${auth.rate-limit.username.capacity:5}")
+    private int usernameCapacity;
+    
+    @Value("${auth.rate-limit.username.refill-per-minute:5}")
+    private int usernameRefillPerMinute;
+    
+    @Value("${auth.rate-limit.trusted-client-hours:24}")
+    private long trustedClientHours;
+    
+    private final ConcurrentHashMap<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+    
+    // Keyed on username alone, so guessing one account's password from many addresses is limited too
+    private final ConcurrentHashMap<String, TokenBucket> usernameBuckets = new ConcurrentHashMap<>();
+    
+    // Address and username of recent successful logins, to when they stop being trusted (System.nanoTime)
+    private final ConcurrentHashMap<String, Long> trustedClients = new ConcurrentHashMap<>();
+    
+    /**
+     * Returns 0 when the attempt may proceed, otherwise the number of seconds
+     * the client should wait before retrying. A rejected attempt uses up no tokens.
+     * An address that recently logged in as the user is only limited per address, so
+     * someone guessing the password elsewhere does not lock the owner out.
+     */
+    public long tryAcquire(String username, String clientIp) {
+        TokenBucket ipBucket = ipBuckets.computeIfAbsent(clientIp,
+                key -> new TokenBucket(ipCapacity, ipRefillPerMinute, 1, TimeUnit.MINUTES));
+        if (!ipBucket.tryAcquire()) {
+            loginMetrics.recordRateLimited();
+            return retryAfterSeconds(ipBucket);
+        }
+        
+        if (isTrusted(clientKey(username, clientIp))) {
+            return 0;
+        }
+        
+        TokenBucket usernameBucket = usernameBuckets.computeIfAbsent(username.toLowerCase(Locale.ROOT),
+                key -> new TokenBucket(usernameCapacity, usernameRefillPerMinute, 1, TimeUnit.MINUTES));
+        if (!usernameBucket.tryAcquire()) {
+            ipBucket.release();
+            loginMetrics.recordRateLimited();
+            return retryAfterSeconds(usernameBucket);
+        }
+        
+        return 0;
+    }
+    
+    public void recordSuccess(String username, String clientIp) {
+        trustedClients.put(clientKey(username, clientIp), System.nanoTime() + TimeUnit.HOURS.toNanos(trustedClientHours));
+    }
+    
+    private boolean isTrusted(String clientKey) {
+        Long trustedUntil = trustedClients.get(clientKey);
+        return trustedUntil != null && trustedUntil - System.nanoTime() > 0;
+    }
+    
+    // Addresses contain no spaces, so the key is unambiguous
+    private static String clientKey(String username, String clientIp) {
+        return clientIp + " " + username.toLowerCase(Locale.ROOT);
+    }
+    
+    private long retryAfterSeconds(TokenBucket bucket) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilNextToken()) + 1);
+    }
+    
+    // A full bucket behaves exactly like a fresh one, so it can be dropped
+    @Scheduled(fixedDelayString = "${auth.rate-limit.purge-interval-ms:60000}")
+    public void purgeIdleBuckets() {
+        ipBuckets.values().removeIf(TokenBucket::isFull);
+        usernameBuckets.values().removeIf(TokenBucket::isFull);
+        long now = System.nanoTime();
+        trustedClients.values().removeIf(trustedUntil -> trustedUntil - now <= 0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ems.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt password checks on a small dedicated pool so a login storm
+ * saturates these threads instead of every request thread in Tomcat.
+ */
+@Component
+public class PasswordVerificationExecutor {
+    
+    @Autowired
+    private LoginMetrics loginMetrics;
+    
+    @Value("${auth.login.verification-timeout-ms:5000}")
+    private long verificationTimeoutMs;
+    
+    private final ThreadPoolExecutor executor;
+    
+    public PasswordVerificationExecutor(@Value("${auth.login.executor.threads:0}") int threads,
+                                        @Value("${auth.login.executor.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    /**
+     * Authenticates on the verification pool. Throws {@link RejectedExecutionException}
+     * when the pool and its queue are full or the check does not finish in time.
+     */
+    public Authentication authenticate(AuthenticationManager authenticationManager, Authentication request) {
+        Future<Authentication> result;
+        try {
+            result = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return authenticationManager.authenticate(request);
+                } finally {
+                    loginMetrics.recordVerification(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loginMetrics.recordRejectedBusy();
+            throw e;
+        }
+        
+        try {
+            return result.get(verificationTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            loginMetrics.recordRejectedBusy();
+            throw new RejectedExecutionException("Password verification timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new RejectedExecutionException("Interrupted while waiting for password verification", e);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
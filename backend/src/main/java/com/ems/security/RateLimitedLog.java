@@ -0,0 +1,37 @@
+package com.ems.security;
+
+import org.apache.commons.logging.Log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Warns through a {@link TokenBucket}, so a flood of bad requests costs a few log lines a minute
+ * instead of one each. Messages over the limit are only counted, and the count is appended to
+ * the next message that gets through, so the totals stay visible.
+ */
+public class RateLimitedLog {
+    
+    private final Log log;
+    
+    private final TokenBucket bucket;
+    
+    private final LongAdder suppressed = new LongAdder();
+    
+    public RateLimitedLog(Log log, int perMinute) {
+        this.log = log;
+        this.bucket = new TokenBucket(perMinute, perMinute, 1, TimeUnit.MINUTES);
+    }
+    
+    public void warn(String message) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        if (!bucket.tryAcquire()) {
+            suppressed.increment();
+            return;
+        }
+        long skipped = suppressed.sumThenReset();
+        log.warn(skipped > 0 ? message + " (" + skipped + " similar messages suppressed)" : message);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ems.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket expressed as a generic cell rate algorithm: the whole
+ * bucket state is one "theoretical arrival time" updated with CAS, so acquiring
+ * a token never blocks or allocates.
+ */
+public class TokenBucket {
+    
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+    
+    public TokenBucket(int capacity, int refillTokens, long refillPeriod, TimeUnit unit) {
+        this.emissionIntervalNanos = unit.toNanos(refillPeriod) / refillTokens;
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    }
+    
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrivalTime.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            if (newTat - now > burstToleranceNanos + emissionIntervalNanos) {
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Gives back a token taken by {@link #tryAcquire()} for an attempt that did not go ahead.
+     */
+    public void release() {
+        theoreticalArrivalTime.addAndGet(-emissionIntervalNanos);
+    }
+    
+    public long nanosUntilNextToken() {
+        long wait = theoreticalArrivalTime.get() - burstToleranceNanos - System.nanoTime();
+        return Math.max(0, wait);
+    }
+    
+    public boolean isFull() {
+        return theoreticalArrivalTime.get() <= System.nanoTime();
+    }
+}
@@ -0,0 +1,95 @@
+package com.ems.security;
+
+import com.ems.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory revocation state consulted by the JWT filter on every request.
+ * All checks are hash lookups, so rejecting logged-out tokens and disabled
+ * users never costs a database round trip.
+ */
+@Component
+public class TokenRevocationList {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+    
+    // Token id (jti) -> expiry in epoch millis; dropped once the token would have expired anyway
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    
+    // User id -> epoch millis; tokens issued before this instant are rejected
+    private final ConcurrentHashMap<Long, Long> tokensIssuedBefore = new ConcurrentHashMap<>();
+    
+    private final Set<Long> disabledUsers = ConcurrentHashMap.newKeySet();
+    
+    @PostConstruct
+    public void loadDisabledUsers() {
+        disabledUsers.addAll(userRepository.findDisabledUserIds());
+    }
+    
+    public boolean isRevoked(Claims claims) {
+        String tokenId = claims.getId();
+        if (tokenId != null && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        
+        Number userId = claims.get(JwtUtils.CLAIM_USER_ID, Number.class);
+        if (userId == null) {
+            return false;
+        }
+        if (disabledUsers.contains(userId.longValue())) {
+            return true;
+        }
+        
+        Long issuedBefore = tokensIssuedBefore.get(userId.longValue());
+        Date issuedAt = claims.getIssuedAt();
+        return issuedBefore != null && (issuedAt == null || issuedAt.getTime() < issuedBefore);
+    }
+    
+    public void revokeToken(String tokenId, Date expiration) {
+        if (tokenId != null) {
+            revokedTokens.put(tokenId, expiration != null ? expiration.getTime() : System.currentTimeMillis() + jwtExpirationMs);
+        }
+    }
+    
+    public void revokeAllForUser(Long userId) {
+        // iat has second precision, so round down to keep tokens issued later in the same second valid
+        tokensIssuedBefore.put(userId, System.currentTimeMillis() / 1000 * 1000);
+    }
+    
+    public void userDisabled(Long userId) {
+        disabledUsers.add(userId);
+        revokeAllForUser(userId);
+    }
+    
+    public void userEnabled(Long userId) {
+        // Tokens issued before the account was disabled stay revoked
+        if (disabledUsers.remove(userId)) {
+            revokeAllForUser(userId);
+        }
+    }
+    
+    public boolean isUserDisabled(Long userId) {
+        return disabledUsers.contains(userId);
+    }
+    
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiry -> expiry < now);
+        // Every token issued before the cutoff has expired once a full token lifetime has passed
+        tokensIssuedBefore.values().removeIf(cutoff -> cutoff + jwtExpirationMs < now);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ems.security;
+
+import com.ems.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class UserStateListener {
+    
+    // Lazy because Hibernate resolves entity listeners while the EntityManagerFactory is still being built
+    @Autowired
+    @Lazy
+    private TokenRevocationList revocationList;
+    
+    @PostPersist
+    @PostUpdate
+    public void onUserSaved(User user) {
+        Long userId = user.getId();
+        boolean enabled = user.isEnabled();
+        if (enabled != revocationList.isUserDisabled(userId)) {
+            return;
+        }
+        
+        // Only publish the new state once it is committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyState(userId, enabled);
+                }
+            });
+        } else {
+            applyState(userId, enabled);
+        }
+    }
+    
+    private void applyState(Long userId, boolean enabled) {
+        if (enabled) {
+            revocationList.userEnabled(userId);
+        } else {
+            revocationList.userDisabled(userId);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ems.service;
+
+import com.ems.config.StartupTasks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory change counters for the collections the frontend refetches, used to build ETags
+ * without querying the database. The boot epoch keeps ETags from a previous run from matching.
+ */
+@Component
+public class AggregateVersions {
+    
+    public enum Aggregate {
+        EMPLOYEES, DEPARTMENTS, SALARIES
+    }
+    
+    private final long epoch = System.currentTimeMillis();
+    
+    private final Map<Aggregate, AtomicLong> versions = new EnumMap<>(Aggregate.class);
+    
+    @Autowired
+    private TaskScheduler taskScheduler;
+    
+    @Autowired
+    private StartupTasks startupTasks;
+    
+    @Value("${app.datasource.replica.url:}")
+    private String replicaUrl;
+    
+    @Value("${app.datasource.replica.max-lag-ms:2000}")
+    private long replicaMaxLagMillis;
+    
+    public AggregateVersions() {
+        for (Aggregate aggregate : Aggregate.values()) {
+            versions.put(aggregate, new AtomicLong());
+        }
+    }
+    
+    // Seeding writes without going through the services, so nothing else bumps for it. With
+    // app.startup.async-seeding, ETags and cached summaries handed out meanwhile would otherwise stay valid
+    @EventListener(ApplicationReadyEvent.class)
+    public void bumpAfterSeeding() {
+        startupTasks.afterSeeding(() -> {
+            for (Aggregate aggregate : Aggregate.values()) {
+                bumpNow(aggregate);
+            }
+        });
+    }
+    
+    /**
+     * Marks the aggregate as changed once the current transaction commits, so a reader can never
+     * pair the new ETag with data that is not yet visible.
+     */
+    public void bump(Aggregate aggregate) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpNow(aggregate);
+                }
+            });
+        } else {
+            bumpNow(aggregate);
+        }
+    }
+    
+    /**
+     * Meant for {@code WebRequest.checkNotModified}, which also writes the ETag response header.
+     */
+    public String etag(Aggregate... aggregates) {
+        StringBuilder etag = new StringBuilder("\"").append(Long.toString(epoch, 36));
+        for (Aggregate aggregate : aggregates) {
+            etag.append('-').append(versions.get(aggregate).get());
+        }
+        return etag.append('"').toString();
+    }
+    
+    public long version(Aggregate aggregate) {
+        return versions.get(aggregate).get();
+    }
+    
+    private void bumpNow(Aggregate aggregate) {
+        versions.get(aggregate).incrementAndGet();
+        // Readers on a lagging replica may have paired the new version with old rows
+        if (!replicaUrl.isEmpty()) {
+            taskScheduler.schedule(() -> versions.get(aggregate).incrementAndGet(),
+                    Instant.now().plus(Duration.ofMillis(replicaMaxLagMillis)));
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.ems.service;
+
+import com.ems.dto.AttendanceEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Fans attendance changes out to the live board's SSE subscribers. Writers never block here:
+ * each change is rendered once and offered to every subscriber's bounded buffer, and a small
+ * sender pool drains the buffers, at most one task per subscriber at a time. A subscriber whose
+ * buffer overflows, or whose write has been blocked longer than the write timeout, is too slow
+ * to keep up and is dropped; its client reconnects and starts over from a fresh snapshot.
+ */
+@Component
+public class AttendanceBroadcaster {
+    
+    private static final Log logger = LogFactory.getLog(AttendanceBroadcaster.class);
+    
+    public enum Change {
+        MARKED, DELETED
+    }
+    
+    @Value("${app.attendance.live.buffer-size:256}")
+    private int bufferSize;
+    
+    @Value("${app.attendance.live.max-subscribers:200}")
+    private int maxSubscribers;
+    
+    @Value("${app.attendance.live.timeout-ms:1800000}")
+    private long timeoutMillis;
+    
+    @Value("${app.attendance.live.reconnect-ms:3000}")
+    private long reconnectMillis;
+    
+    @Value("${app.attendance.live.write-timeout-ms:10000}")
+    private long writeTimeoutMillis;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    
+    private final LongAdder dropped = new LongAdder();
+    
+    private final ThreadPoolExecutor senders;
+    
+    private final int senderThreads;
+    
+    // Dropped subscribers whose write is still blocked, each holding a sender thread; only the write check touches it
+    private final Set<Subscriber> stalled = new HashSet<>();
+    
+    private final Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("keep-alive").build();
+    
+    public AttendanceBroadcaster(@Value("${app.attendance.live.sender-threads:2}") int threads) {
+        this.senderThreads = threads;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Each subscriber has at most one drain task queued and subscribers are capped, so the queue is bounded too
+        this.senders = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "attendance-live-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+    
+    @PostConstruct
+    public void registerMeters() {
+        Gauge.builder("ems.attendance.live.subscribers", subscribers, Set::size)
+                .description("Open live attendance board streams")
+                .register(meterRegistry);
+        FunctionCounter.builder("ems.attendance.live.dropped", dropped, LongAdder::sum)
+                .description("Live attendance subscribers dropped for falling behind")
+                .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        for (Subscriber subscriber : subscribers) {
+            close(subscriber);
+        }
+        senders.shutdown();
+    }
+    
+    /**
+     * Opens a stream for one day. The subscriber is registered before the snapshot is read, so a
+     * change committed meanwhile may show up both in the snapshot and as a delta; deltas carry the
+     * whole record, which makes applying them idempotent. Throws
+     * {@link RejectedExecutionException} when the subscriber limit is reached.
+     */
+    public SseEmitter subscribe(LocalDate date, Supplier<Object> snapshot) throws IOException {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RejectedExecutionException("Too many live attendance subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(date, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> {
+            subscribers.remove(subscriber);
+            subscriber.closed = true;
+        });
+        emitter.onTimeout(() -> {
+            close(subscriber);
+            complete(subscriber);
+        });
+        emitter.onError(error -> close(subscriber));
+        subscribers.add(subscriber);
+        try {
+            // Sent before the handler returns; Spring holds it until the response is ready
+            emitter.send(SseEmitter.event().name("snapshot").reconnectTime(reconnectMillis).data(render(snapshot.get())));
+        } catch (IOException | RuntimeException e) {
+            subscribers.remove(subscriber);
+            throw e;
+        }
+        subscriber.ready = true;
+        schedule(subscriber);
+        return emitter;
+    }
+    
+    /**
+     * Sends the change to the day's subscribers once the current transaction commits.
+     */
+    public void publish(Change change, AttendanceEntry entry) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishNow(change, entry);
+                }
+            });
+        } else {
+            publishNow(change, entry);
+        }
+    }
+    
+    // Idle proxies close quiet connections, and a failed write is the only way to notice a client is gone
+    @Scheduled(fixedDelayString = "${app.attendance.live.heartbeat-ms:15000}")
+    public void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, heartbeat);
+        }
+    }
+    
+    /**
+     * Drops subscribers whose current write has been blocked for longer than the write timeout. A
+     * blocked write cannot be interrupted, so the pool gets one extra thread for each of them until
+     * the container gives up on the connection, and the other subscribers keep being served.
+     */
+    @Scheduled(fixedDelayString = "${app.attendance.live.write-check-ms:1000}")
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        stalled.removeIf(subscriber -> subscriber.sendStarted == 0);
+        for (Subscriber subscriber : subscribers) {
+            long sendStarted = subscriber.sendStarted;
+            if (sendStarted != 0 && now - sendStarted > timeoutNanos) {
+                logger.warn("Dropping a live attendance subscriber whose write has been blocked for over " + writeTimeoutMillis + "ms");
+                dropped.increment();
+                close(subscriber);
+                stalled.add(subscriber);
+            }
+        }
+        int threads = senderThreads + stalled.size();
+        if (threads > senders.getMaximumPoolSize()) {
+            senders.setMaximumPoolSize(threads);
+            senders.setCorePoolSize(threads);
+        } else if (threads < senders.getMaximumPoolSize()) {
+            senders.setCorePoolSize(threads);
+            senders.setMaximumPoolSize(threads);
+        }
+    }
+    
+    private void publishNow(Change change, AttendanceEntry entry) {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = null;
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.date.equals(entry.getDate())) {
+                continue;
+            }
+            if (frame == null) {
+                frame = SseEmitter.event().name(change.name().toLowerCase()).data(render(entry)).build();
+            }
+            offer(subscriber, frame);
+        }
+    }
+    
+    private void offer(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (subscriber.buffer.offer(frame)) {
+            schedule(subscriber);
+        } else {
+            dropped.increment();
+            close(subscriber);
+        }
+    }
+    
+    // Never completes the emitter on the caller's thread: a send blocked on a stalled client holds its lock
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.closed = true;
+        subscriber.buffer.clear();
+        schedule(subscriber);
+    }
+    
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.ready && subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            while (!subscriber.closed && (frame = subscriber.buffer.poll()) != null) {
+                subscriber.sendStarted = System.nanoTime();
+                subscriber.emitter.send(frame);
+                subscriber.sendStarted = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed
+            subscribers.remove(subscriber);
+            subscriber.closed = true;
+        } finally {
+            subscriber.sendStarted = 0;
+            subscriber.draining.set(false);
+        }
+        if (subscriber.closed) {
+            complete(subscriber);
+        } else if (!subscriber.buffer.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+    
+    private void complete(Subscriber subscriber) {
+        if (subscriber.completed.compareAndSet(false, true)) {
+            subscriber.emitter.complete();
+        }
+    }
+    
+    private String render(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            logger.error("Could not render live attendance event", e);
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static final class Subscriber {
+        private final LocalDate date;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean ready;
+        private volatile boolean closed;
+        // System.nanoTime() when the write in progress started, 0 while none is
+        private volatile long sendStarted;
+        
+        private Subscriber(LocalDate date, SseEmitter emitter, BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> buffer) {
+            this.date = date;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
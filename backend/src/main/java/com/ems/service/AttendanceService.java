@@ -1,16 +1,21 @@
 package com.ems.service;
 
+import com.ems.dto.AttendanceBoard;
+import com.ems.dto.AttendanceEntry;
 import com.ems.entity.Attendance;
 import com.ems.entity.Employee;
 import com.ems.repository.AttendanceRepository;
 import com.ems.repository.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -22,18 +27,42 @@ public class AttendanceService {
     @Autowired
     private EmployeeRepository employeeRepository;
     
-    public List<Attendance> getAllAttendance() {
-        return attendanceRepository.findAll();
+    @Autowired
+    private EntityStreamer entityStreamer;
+    
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+    
+    @Autowired
+    private AttendanceBroadcaster attendanceBroadcaster;
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllAttendance(Consumer<AttendanceEntry> action) {
+        entityStreamer.forEach(attendanceRepository::findEntriesAfter, AttendanceEntry::getId, action);
     }
     
+    @Transactional(readOnly = true)
     public List<Attendance> getAttendanceByEmployee(Long employeeId) {
         return attendanceRepository.findByEmployeeId(employeeId);
     }
     
+    @Transactional(readOnly = true)
     public List<Attendance> getAttendanceByDate(LocalDate date) {
         return attendanceRepository.findByDate(date);
     }
     
+    @Transactional(readOnly = true)
+    public AttendanceBoard getAttendanceBoard(LocalDate date) {
+        AttendanceBoard board = new AttendanceBoard();
+        board.setDate(date);
+        board.setEntries(attendanceRepository.findEntriesByDate(date));
+        board.setPresentCount(board.getEntries().stream()
+                .filter(entry -> entry.getStatus() == Attendance.AttendanceStatus.PRESENT)
+                .count());
+        return board;
+    }
+    
+    @Timed(value = "ems.attendance.mark", histogram = true)
     public Attendance markAttendance(Long employeeId, LocalDate date, Attendance.AttendanceStatus status, String remarks) {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
@@ -56,22 +85,42 @@ public class AttendanceService {
             attendance.setRemarks(remarks);
         }
         
-        return attendanceRepository.save(attendance);
+        attendance = attendanceRepository.save(attendance);
+        attendanceBroadcaster.publish(AttendanceBroadcaster.Change.MARKED, toEntry(attendance));
+        return attendance;
     }
     
+    @Transactional(readOnly = true)
     public List<Attendance> getAttendanceByEmployeeAndDateRange(Long employeeId, LocalDate startDate, LocalDate endDate) {
         return attendanceRepository.findByEmployeeIdAndDateBetween(employeeId, startDate, endDate);
     }
     
+    @Transactional(readOnly = true)
     public long getPresentCountByDate(LocalDate date) {
         return attendanceRepository.countPresentByDate(date);
     }
     
+    @Transactional(readOnly = true)
+    public long getPresentCountByDateForDepartment(LocalDate date, Long departmentId) {
+        return attendanceRepository.countPresentByDateAndDepartmentIdIn(date, departmentHierarchy.subtreeIds(departmentId));
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<Attendance> getAttendanceByEmployeeAndDate(Long employeeId, LocalDate date) {
         return attendanceRepository.findByEmployeeIdAndDate(employeeId, date);
     }
     
     public void deleteAttendance(Long id) {
-        attendanceRepository.deleteById(id);
+        attendanceRepository.findById(id).ifPresent(attendance -> {
+            attendanceRepository.delete(attendance);
+            attendanceBroadcaster.publish(AttendanceBroadcaster.Change.DELETED, toEntry(attendance));
+        });
+    }
+    
+    private static AttendanceEntry toEntry(Attendance attendance) {
+        Employee employee = attendance.getEmployee();
+        return new AttendanceEntry(attendance.getId(), employee.getId(), employee.getName(),
+                employee.getDepartment() != null ? employee.getDepartment().getId() : null,
+                attendance.getDate(), attendance.getStatus(), attendance.getRemarks());
     }
 }
\ No newline at end of file
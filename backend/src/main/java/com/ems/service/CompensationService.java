@@ -0,0 +1,238 @@
+package com.ems.service;
+
+import com.ems.audit.AuditLog;
+import com.ems.audit.AuditRecord;
+import com.ems.config.StartupTasks;
+import com.ems.dto.SalaryRevisionRequest;
+import com.ems.entity.CompensationHistory;
+import com.ems.entity.Employee;
+import com.ems.entity.SalaryRevision;
+import com.ems.repository.CompensationHistoryRepository;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.SalaryRevisionRepository;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Salary changes and their effective-dated history in compensation_history.
+ */
+@Service
+public class CompensationService {
+    
+    private static final Log log = LogFactory.getLog(CompensationService.class);
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private CompensationHistoryRepository compensationHistoryRepository;
+    
+    @Autowired
+    private SalaryRevisionRepository salaryRevisionRepository;
+    
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+    
+    @Autowired
+    private AggregateVersions aggregateVersions;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private StartupTasks startupTasks;
+    
+    // Absent when app.audit.enabled=false
+    @Autowired
+    private ObjectProvider<AuditLog> auditLog;
+    
+    @Value("${app.salary.revision.chunk-size:5000}")
+    private int chunkSize;
+    
+    // Seeding inserts employees without going through the services
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillAfterSeeding() {
+        startupTasks.afterSeeding(() -> {
+            Integer rows = new TransactionTemplate(transactionManager).execute(status -> backfillHireRows());
+            if (rows > 0) {
+                log.info(String.format("Compensation history backfilled for %d employees", rows));
+            }
+        });
+    }
+    
+    public void recordHire(Employee employee) {
+        save(employee, employee.getJoinDate(), null, "Hire");
+    }
+    
+    /**
+     * Records the new salary effective today; does nothing if it did not change.
+     */
+    public void recordChange(Employee employee, BigDecimal previousSalary) {
+        if (previousSalary != null && previousSalary.compareTo(employee.getSalary()) == 0) {
+            return;
+        }
+        save(employee, LocalDate.now(), previousSalary, "Salary change");
+    }
+    
+    /**
+     * Moves the hire row to the employee's corrected join date. The join date cannot move past a
+     * salary change already recorded for the employee.
+     */
+    public void correctHireDate(Employee employee) {
+        LocalDate firstChange = compensationHistoryRepository.findEarliestChangeDate(employee.getId());
+        if (firstChange != null && employee.getJoinDate().isAfter(firstChange)) {
+            throw new RuntimeException("Join date cannot be after the employee's first salary change on " + firstChange);
+        }
+        compensationHistoryRepository.updateHireDate(employee.getId(), employee.getJoinDate());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<CompensationHistory> getHistory(Long employeeId) {
+        return compensationHistoryRepository.findByEmployeeIdOrderByEffectiveFromAscIdAsc(employeeId);
+    }
+    
+    /**
+     * The history row in effect on the given day, if the employee had one by then.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CompensationHistory> getCompensationAsOf(Long employeeId, LocalDate date) {
+        return compensationHistoryRepository
+                .findFirstByEmployeeIdAndEffectiveFromLessThanEqualOrderByEffectiveFromDescIdDesc(employeeId, date);
+    }
+    
+    public int backfillHireRows() {
+        return compensationHistoryRepository.insertMissingHireRows(Instant.now());
+    }
+    
+    /**
+     * Raises (or lowers) the salary of every active employee matching the request by a percentage,
+     * rounded to cents. Works through the employees table in id ranges of app.salary.revision.chunk-size,
+     * each range in its own transaction: one INSERT ... SELECT writes the history rows from the
+     * current salaries, then one UPDATE applies the new ones. The UPDATE bypasses the entity listener,
+     * so each chunk appends its employees' salary changes to the audit log once it commits. If a chunk
+     * fails, the chunks before it stay applied and the revision is left without a completion time.
+     */
+    public SalaryRevision reviseSalaries(SalaryRevisionRequest request) {
+        long started = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        boolean anyDepartment = request.getDepartmentId() == null;
+        Collection<Long> departmentIds = anyDepartment ? List.of(-1L)
+                : request.isIncludeSubdepartments() ? departmentHierarchy.subtreeIds(request.getDepartmentId())
+                : List.of(request.getDepartmentId());
+        String designation = request.getDesignation() != null && !request.getDesignation().isBlank()
+                ? request.getDesignation() : null;
+        boolean anyDesignation = designation == null;
+        BigDecimal factor = BigDecimal.ONE.add(request.getPercentage().movePointLeft(2));
+        
+        SalaryRevision revision = new SalaryRevision();
+        revision.setPercentage(request.getPercentage());
+        revision.setDepartmentId(request.getDepartmentId());
+        revision.setIncludeSubdepartments(request.isIncludeSubdepartments());
+        revision.setDesignation(designation);
+        revision.setEffectiveDate(request.getEffectiveDate());
+        revision.setReason(request.getReason() != null ? request.getReason()
+                : "Salary revision " + request.getPercentage().stripTrailingZeros().toPlainString() + "%");
+        revision.setRequestedBy(currentUsername());
+        revision.setRequestedAt(Instant.now());
+        // Employees without history get their hire row first, so as-of lookups before the revision still resolve
+        transactionTemplate.execute(status -> backfillHireRows());
+        SalaryRevision saved = transactionTemplate.execute(status -> salaryRevisionRepository.save(revision));
+        
+        Long minId = employeeRepository.findMinId();
+        long maxId = minId != null ? employeeRepository.findMaxId() : -1;
+        int revised = 0;
+        try {
+            for (long chunkStart = minId != null ? minId : 0; chunkStart <= maxId; chunkStart += chunkSize) {
+                long fromId = chunkStart;
+                long toId = chunkStart + chunkSize - 1;
+                revised += transactionTemplate.execute(status -> {
+                    int recorded = compensationHistoryRepository.insertSalaryRevision(saved.getId(),
+                            request.getEffectiveDate(), factor, saved.getReason(), fromId, toId,
+                            anyDepartment, departmentIds, anyDesignation, designation);
+                    int updated = employeeRepository.applySalaryRevision(factor, fromId, toId,
+                            anyDepartment, departmentIds, anyDesignation, designation);
+                    // A concurrent status or department change between the two statements
+                    if (recorded != updated) {
+                        throw new IllegalStateException("Employees " + fromId + "-" + toId
+                                + " changed while revision " + saved.getId() + " was applied; run it again for them");
+                    }
+                    auditAfterCommit(saved, fromId, toId);
+                    return updated;
+                });
+            }
+        } finally {
+            // Chunks that committed are visible even if a later one failed
+            aggregateVersions.bump(AggregateVersions.Aggregate.EMPLOYEES);
+        }
+        
+        saved.setEmployeeCount(revised);
+        saved.setCompletedAt(Instant.now());
+        SalaryRevision completed = transactionTemplate.execute(status -> salaryRevisionRepository.save(saved));
+        log.info(String.format("Salary revision %d applied to %d employees in %dms",
+                completed.getId(), revised, (System.nanoTime() - started) / 1_000_000));
+        return completed;
+    }
+    
+    // One UPDATE record per employee, as the entity listener would have written for a salary change
+    private void auditAfterCommit(SalaryRevision revision, long fromId, long toId) {
+        AuditLog audit = auditLog.getIfAvailable();
+        if (audit == null) {
+            return;
+        }
+        List<Object[]> revised = compensationHistoryRepository.findRevisedSalaries(revision.getId(), fromId, toId);
+        String actor = revision.getRequestedBy() != null ? revision.getRequestedBy() : "system";
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Instant now = Instant.now();
+                for (Object[] row : revised) {
+                    List<AuditRecord.Change> changes = List.of(
+                            new AuditRecord.Change("salary", row[1].toString(), row[2].toString()));
+                    audit.append(new AuditRecord(now, actor, AuditRecord.EntityType.EMPLOYEE,
+                            ((Number) row[0]).longValue(), AuditRecord.Action.UPDATE, changes));
+                }
+            }
+        });
+    }
+    
+    private void save(Employee employee, LocalDate effectiveFrom, BigDecimal previousSalary, String reason) {
+        CompensationHistory history = new CompensationHistory();
+        history.setEmployeeId(employee.getId());
+        history.setEffectiveFrom(effectiveFrom);
+        history.setSalary(employee.getSalary());
+        history.setPreviousSalary(previousSalary);
+        history.setReason(reason);
+        history.setRecordedAt(Instant.now());
+        compensationHistoryRepository.save(history);
+    }
+    
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
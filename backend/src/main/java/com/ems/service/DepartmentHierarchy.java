@@ -0,0 +1,118 @@
+package com.ems.service;
+
+import com.ems.entity.Department;
+import com.ems.repository.DepartmentClosureRepository;
+import com.ems.repository.DepartmentRepository;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the department_closure table in step with Department.parent and caches the id set of each
+ * subtree, so reports over a whole division take one {@code IN} list instead of a lookup per level.
+ * Cached sets are tagged with the DEPARTMENTS version they were read at; every hierarchy change bumps
+ * that version after commit, which retires them. Changes lock the department rows first, so two
+ * moves cannot both pass the cycle check and together form a loop.
+ */
+@Service
+@Transactional
+public class DepartmentHierarchy {
+    
+    private static final Log log = LogFactory.getLog(DepartmentHierarchy.class);
+    
+    private record Subtree(long version, Set<Long> ids) {
+    }
+    
+    @Autowired
+    private DepartmentClosureRepository closureRepository;
+    
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    
+    @Autowired
+    private AggregateVersions aggregateVersions;
+    
+    private final Map<Long, Subtree> subtrees = new ConcurrentHashMap<>();
+    
+    /**
+     * Ids of the department and all departments below it; empty if the department does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> subtreeIds(Long departmentId) {
+        // Read the version before the rows, so rows changed meanwhile are cached under the old version and refetched
+        long version = aggregateVersions.version(AggregateVersions.Aggregate.DEPARTMENTS);
+        Subtree cached = subtrees.get(departmentId);
+        if (cached != null && cached.version() == version) {
+            return cached.ids();
+        }
+        Set<Long> ids = Set.copyOf(closureRepository.findSubtreeIds(departmentId));
+        subtrees.put(departmentId, new Subtree(version, ids));
+        return ids;
+    }
+    
+    public void addDepartment(Long departmentId, Long parentId) {
+        closureRepository.insertSelf(departmentId);
+        if (parentId != null) {
+            lockDepartments();
+            closureRepository.attachSubtree(departmentId, parentId);
+        }
+    }
+    
+    public void moveDepartment(Long departmentId, Long newParentId) {
+        Map<Long, Long> parents = lockDepartments();
+        // Walk up from the new parent over the locked rows; the bound stops a cycle in hand-edited data
+        Long ancestor = newParentId;
+        for (int depth = 0; ancestor != null && depth <= parents.size(); depth++) {
+            if (ancestor.equals(departmentId)) {
+                throw new RuntimeException("Cannot move department " + departmentId + " below its own subtree");
+            }
+            ancestor = parents.get(ancestor);
+        }
+        Set<Long> subtree = Set.copyOf(closureRepository.findSubtreeIds(departmentId));
+        closureRepository.detachSubtree(subtree);
+        if (newParentId != null) {
+            closureRepository.attachSubtree(departmentId, newParentId);
+        }
+    }
+    
+    public void removeDepartment(Long departmentId) {
+        lockDepartments();
+        closureRepository.deleteLinks(departmentId);
+    }
+    
+    /**
+     * Rebuilds the closure from the parent column when some departments have no rows yet, e.g. after
+     * rows were inserted outside JPA or when an existing schema gains the table.
+     */
+    public void backfillIfNeeded() {
+        long missing = closureRepository.countDepartmentsWithoutClosure();
+        if (missing == 0) {
+            return;
+        }
+        closureRepository.deleteAllLinks();
+        int departments = closureRepository.insertAllSelfLinks();
+        int depth = 0;
+        // A tree is at most as deep as it has nodes; the bound stops a cycle in hand-edited data
+        while (depth < departments && closureRepository.insertLinksBelowDepth(depth) > 0) {
+            depth++;
+        }
+        aggregateVersions.bump(AggregateVersions.Aggregate.DEPARTMENTS);
+        log.info("Department closure rebuilt: " + departments + " departments, " + (depth + 1) + " levels");
+    }
+    
+    // Held until commit; returns each department's parent id as the locked rows show it
+    private Map<Long, Long> lockDepartments() {
+        Map<Long, Long> parents = new HashMap<>();
+        for (Department department : departmentRepository.lockAll()) {
+            parents.put(department.getId(), department.getParentId());
+        }
+        return parents;
+    }
+}
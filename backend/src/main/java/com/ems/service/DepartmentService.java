@@ -1,34 +1,99 @@
 package com.ems.service;
 
+import com.ems.dto.DepartmentSummary;
 import com.ems.entity.Department;
 import com.ems.repository.DepartmentRepository;
+import com.ems.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @Transactional
 public class DepartmentService {
     
+    private record CachedSummaries(String version, List<DepartmentSummary> summaries) {
+    }
+    
     @Autowired
     private DepartmentRepository departmentRepository;
     
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private EmployeeDirectory employeeDirectory;
+    
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+    
+    @Autowired
+    private AggregateVersions aggregateVersions;
+    
+    private final Map<YearMonth, CachedSummaries> summaries = new ConcurrentHashMap<>();
+    
+    @Transactional(readOnly = true)
     public List<Department> getAllDepartments() {
-        return departmentRepository.findAll();
+        return departmentRepository.findAllWithParents();
     }
     
+    @Transactional(readOnly = true)
     public Optional<Department> getDepartmentById(Long id) {
         return departmentRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
+    public List<Department> getSubtree(Long id) {
+        return departmentRepository.findSubtree(id);
+    }
+    
+    /**
+     * Employee counts per status and the month's payroll for every department, from one grouped
+     * query. The result is reused until a department, employee or salary write is committed.
+     */
+    @Transactional(readOnly = true)
+    public List<DepartmentSummary> getDepartmentSummaries(YearMonth month) {
+        // Read the version before the rows, as in DepartmentHierarchy
+        String version = summaryVersion();
+        CachedSummaries cached = summaries.get(month);
+        if (cached != null && cached.version().equals(version)) {
+            return cached.summaries();
+        }
+        List<DepartmentSummary> result = List.copyOf(
+                departmentRepository.summarize(month.getMonthValue(), month.getYear()));
+        // Entries from before a write can never match again
+        summaries.values().removeIf(entry -> !entry.version().equals(version));
+        summaries.put(month, new CachedSummaries(version, result));
+        return result;
+    }
+    
+    public String summaryVersion() {
+        return aggregateVersions.etag(AggregateVersions.Aggregate.DEPARTMENTS,
+                AggregateVersions.Aggregate.EMPLOYEES, AggregateVersions.Aggregate.SALARIES);
+    }
+    
+    // Requests without a month get the current one, which rolls over without any write
+    public String summaryEtag(YearMonth month) {
+        String version = summaryVersion();
+        return version.substring(0, version.length() - 1) + "-" + month + '"';
+    }
+    
     public Department createDepartment(Department department) {
         if (departmentRepository.existsByName(department.getName())) {
             throw new RuntimeException("Department with name '" + department.getName() + "' already exists");
         }
-        return departmentRepository.save(department);
+        department.setParent(resolveParent(department.getParentId()));
+        Department saved = departmentRepository.save(department);
+        departmentHierarchy.addDepartment(saved.getId(), saved.getParentId());
+        aggregateVersions.bump(AggregateVersions.Aggregate.DEPARTMENTS);
+        return saved;
     }
     
     public Department updateDepartment(Long id, Department departmentDetails) {
@@ -41,9 +106,28 @@ public class DepartmentService {
             throw new RuntimeException("Department with name '" + departmentDetails.getName() + "' already exists");
         }
         
+        // The parent only changes through moveDepartment, so a request without parentId keeps it
         department.setName(departmentDetails.getName());
         department.setDescription(departmentDetails.getDescription());
         
+        employeeDirectory.departmentChanged(id);
+        aggregateVersions.bump(AggregateVersions.Aggregate.DEPARTMENTS);
+        return departmentRepository.save(department);
+    }
+    
+    /**
+     * Moves the department below another one, or to the top level when parentId is null.
+     */
+    public Department moveDepartment(Long id, Long parentId) {
+        Department department = departmentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+        
+        if (!Objects.equals(department.getParentId(), parentId)) {
+            departmentHierarchy.moveDepartment(id, parentId);
+            department.setParent(resolveParent(parentId));
+            department.setParentId(parentId);
+            aggregateVersions.bump(AggregateVersions.Aggregate.DEPARTMENTS);
+        }
         return departmentRepository.save(department);
     }
     
@@ -52,10 +136,23 @@ public class DepartmentService {
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
         
         // Check if department has employees
-        if (department.getEmployees() != null && !department.getEmployees().isEmpty()) {
+        if (employeeRepository.existsByDepartmentId(id)) {
             throw new RuntimeException("Cannot delete department with existing employees");
         }
+        if (departmentRepository.existsByParentId(id)) {
+            throw new RuntimeException("Cannot delete department with sub-departments");
+        }
         
+        departmentHierarchy.removeDepartment(id);
         departmentRepository.delete(department);
+        aggregateVersions.bump(AggregateVersions.Aggregate.DEPARTMENTS);
+    }
+    
+    private Department resolveParent(Long parentId) {
+        if (parentId == null) {
+            return null;
+        }
+        return departmentRepository.findById(parentId)
+                .orElseThrow(() -> new RuntimeException("Parent department not found with id: " + parentId));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,230 @@
+package com.ems.service;
+
+import com.ems.config.StartupTasks;
+import com.ems.dto.DirectoryEntry;
+import com.ems.entity.Department;
+import com.ems.entity.Employee;
+import com.ems.repository.DepartmentRepository;
+import com.ems.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Serves directory lookups from an in-memory {@link EmployeeDirectorySnapshot} instead of
+ * loading entities. Readers only dereference the current snapshot. Writers swap in a new one
+ * after their transaction commits: a single background thread re-reads the changed row on the
+ * primary, so committing threads do no extra work and hold no second connection, and the
+ * snapshot never shows data the database does not have.
+ */
+@Service
+public class EmployeeDirectory {
+    
+    private static final Log logger = LogFactory.getLog(EmployeeDirectory.class);
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+    
+    @Autowired
+    private AggregateVersions aggregateVersions;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private StartupTasks startupTasks;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final AtomicReference<EmployeeDirectorySnapshot> current = new AtomicReference<>();
+    
+    // The full load in progress, if any; lookups arriving before the first load completes wait on it
+    private final AtomicReference<CompletableFuture<EmployeeDirectorySnapshot>> pendingLoad = new AtomicReference<>();
+    
+    // All loads and row refreshes run here, one at a time, so they cannot overwrite each other and
+    // never hold more than one pooled connection between them
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-directory");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    public void init() {
+        // Not read-only, so it is never routed to a lagging replica
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        Gauge.builder("ems.employee.directory.size", current, ref -> ref.get() != null ? ref.get().size() : 0)
+                .description("Employees in the directory snapshot")
+                .register(meterRegistry);
+        Gauge.builder("ems.employee.directory.bytes", current, ref -> ref.get() != null ? ref.get().estimatedBytes() : 0)
+                .description("Approximate heap used by the directory snapshot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+    
+    // Seeding inserts rows without going through the services; this also loads the table before the first lookup
+    @EventListener(ApplicationReadyEvent.class)
+    public void invalidateAfterSeeding() {
+        startupTasks.afterSeeding(this::invalidate);
+    }
+    
+    public Optional<DirectoryEntry> get(Long id) {
+        return Optional.ofNullable(snapshot().get(id));
+    }
+    
+    public List<DirectoryEntry> search(String name, Long departmentId, boolean includeSubdepartments,
+                                       String designation, Employee.Status status, int limit) {
+        Set<Long> departmentIds = null;
+        if (departmentId != null) {
+            departmentIds = includeSubdepartments ? departmentHierarchy.subtreeIds(departmentId) : Set.of(departmentId);
+        }
+        return snapshot().find(name, departmentIds, designation, status, limit);
+    }
+    
+    /**
+     * Refreshes the employee's row once the current transaction commits. The refresh bumps
+     * {@link AggregateVersions.Aggregate#EMPLOYEES} again when it lands, so an ETag handed out
+     * between the commit and the refresh does not stay paired with the old row.
+     */
+    public void employeeChanged(Long employeeId) {
+        afterCommit(() -> refreshEmployee(employeeId));
+    }
+    
+    /**
+     * Picks up a renamed department once the current transaction commits.
+     */
+    public void departmentChanged(Long departmentId) {
+        afterCommit(() -> refreshDepartment(departmentId));
+    }
+    
+    /**
+     * Loads the table again in the background. Lookups keep using the current snapshot until the
+     * new one is in place.
+     */
+    public void invalidate() {
+        reload();
+    }
+    
+    private EmployeeDirectorySnapshot snapshot() {
+        EmployeeDirectorySnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : reload().join();
+    }
+    
+    private CompletableFuture<EmployeeDirectorySnapshot> reload() {
+        CompletableFuture<EmployeeDirectorySnapshot> load = new CompletableFuture<>();
+        CompletableFuture<EmployeeDirectorySnapshot> pending = pendingLoad.compareAndExchange(null, load);
+        if (pending != null) {
+            return pending;
+        }
+        refresher.execute(() -> {
+            try {
+                EmployeeDirectorySnapshot snapshot = load();
+                current.set(snapshot);
+                pendingLoad.set(null);
+                aggregateVersions.bump(AggregateVersions.Aggregate.EMPLOYEES);
+                load.complete(snapshot);
+            } catch (RuntimeException e) {
+                pendingLoad.set(null);
+                load.completeExceptionally(e);
+            }
+        });
+        return load;
+    }
+    
+    private EmployeeDirectorySnapshot load() {
+        long started = System.nanoTime();
+        EmployeeDirectorySnapshot snapshot = transactionTemplate.execute(status -> {
+            EmployeeDirectorySnapshot.Builder builder = EmployeeDirectorySnapshot.builder((int) employeeRepository.count());
+            try (Stream<DirectoryEntry> entries = employeeRepository.streamDirectoryEntries()) {
+                entries.forEach(builder::add);
+            }
+            return builder.build();
+        });
+        logger.info(String.format("Employee directory loaded: %d employees, %d KB (%d bytes per employee) in %dms",
+                snapshot.size(), snapshot.estimatedBytes() / 1024,
+                snapshot.size() > 0 ? snapshot.estimatedBytes() / snapshot.size() : 0,
+                (System.nanoTime() - started) / 1_000_000));
+        return snapshot;
+    }
+    
+    private void refreshEmployee(Long employeeId) {
+        EmployeeDirectorySnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return;
+        }
+        transactionTemplate.execute(status -> employeeRepository.findDirectoryEntry(employeeId))
+                .ifPresent(entry -> current.set(snapshot.withEmployee(entry)));
+        aggregateVersions.bump(AggregateVersions.Aggregate.EMPLOYEES);
+    }
+    
+    private void refreshDepartment(Long departmentId) {
+        EmployeeDirectorySnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return;
+        }
+        transactionTemplate.execute(status -> departmentRepository.findById(departmentId))
+                .map(Department::getName)
+                .ifPresent(name -> current.set(snapshot.withDepartmentName(departmentId, name)));
+        aggregateVersions.bump(AggregateVersions.Aggregate.DEPARTMENTS);
+    }
+    
+    // Only queued: the committing thread never waits for a second connection while it still holds its own
+    private void afterCommit(Runnable refresh) {
+        Runnable guarded = () -> {
+            try {
+                refresh.run();
+            } catch (RuntimeException e) {
+                // The change is committed; fall back to a full reload rather than serve a stale row
+                logger.warn("Could not refresh the employee directory, reloading it", e);
+                reload();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        refresher.execute(guarded);
+                    }
+                }
+            });
+        } else {
+            refresher.execute(guarded);
+        }
+    }
+}
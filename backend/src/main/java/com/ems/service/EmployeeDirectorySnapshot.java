@@ -0,0 +1,329 @@
+package com.ems.service;
+
+import com.ems.dto.DirectoryEntry;
+import com.ems.entity.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, column-per-field copy of the employee directory, sorted by id. All names share one
+ * char array; departments, designations and statuses are small codes into dictionaries, so a row
+ * costs a few dozen bytes and no objects of its own. Changes produce a new snapshot.
+ */
+public final class EmployeeDirectorySnapshot {
+    
+    private static final Employee.Status[] STATUSES = Employee.Status.values();
+    
+    private static final int NONE = -1;
+    
+    private final int size;
+    
+    private final long[] ids;
+    
+    // Row i's name is nameChars[nameOffsets[i], nameOffsets[i + 1])
+    private final int[] nameOffsets;
+    
+    private final char[] nameChars;
+    
+    private final int[] departments;
+    
+    private final long[] departmentIds;
+    
+    private final String[] departmentNames;
+    
+    private final int[] designations;
+    
+    private final String[] designationNames;
+    
+    private final byte[] statuses;
+    
+    private EmployeeDirectorySnapshot(int size, long[] ids, int[] nameOffsets, char[] nameChars,
+                                      int[] departments, long[] departmentIds, String[] departmentNames,
+                                      int[] designations, String[] designationNames, byte[] statuses) {
+        this.size = size;
+        this.ids = ids;
+        this.nameOffsets = nameOffsets;
+        this.nameChars = nameChars;
+        this.departments = departments;
+        this.departmentIds = departmentIds;
+        this.departmentNames = departmentNames;
+        this.designations = designations;
+        this.designationNames = designationNames;
+        this.statuses = statuses;
+    }
+    
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public DirectoryEntry get(long id) {
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        return row >= 0 ? entry(row) : null;
+    }
+    
+    /**
+     * Rows matching every given filter, in id order. {@code name} matches any part of the name and
+     * {@code designation} the whole designation, both ignoring case; null filters match everything.
+     */
+    public List<DirectoryEntry> find(String name, Set<Long> departmentIdFilter, String designation,
+                                     Employee.Status status, int limit) {
+        boolean[] departmentMatches = null;
+        if (departmentIdFilter != null) {
+            departmentMatches = new boolean[departmentIds.length];
+            for (int code = 0; code < departmentIds.length; code++) {
+                departmentMatches[code] = departmentIdFilter.contains(departmentIds[code]);
+            }
+        }
+        int designationCode = NONE;
+        if (designation != null) {
+            for (int code = 0; code < designationNames.length && designationCode == NONE; code++) {
+                if (designationNames[code].equalsIgnoreCase(designation)) {
+                    designationCode = code;
+                }
+            }
+            if (designationCode == NONE) {
+                return List.of();
+            }
+        }
+        char[] needle = name != null && !name.isEmpty() ? name.toLowerCase().toCharArray() : null;
+        
+        List<DirectoryEntry> results = new ArrayList<>();
+        for (int row = 0; row < size && results.size() < limit; row++) {
+            if (status != null && statuses[row] != status.ordinal()) {
+                continue;
+            }
+            if (designationCode != NONE && designations[row] != designationCode) {
+                continue;
+            }
+            if (departmentMatches != null && (departments[row] == NONE || !departmentMatches[departments[row]])) {
+                continue;
+            }
+            if (needle != null && !nameContains(row, needle)) {
+                continue;
+            }
+            results.add(entry(row));
+        }
+        return results;
+    }
+    
+    /**
+     * A copy with the employee's row added or replaced.
+     */
+    public EmployeeDirectorySnapshot withEmployee(DirectoryEntry entry) {
+        int row = Arrays.binarySearch(ids, 0, size, entry.getId());
+        int insertAt = row >= 0 ? row : -row - 1;
+        Builder builder = new Builder(this, size + 1);
+        for (int i = 0; i < insertAt; i++) {
+            builder.copy(this, i);
+        }
+        builder.add(entry);
+        for (int i = row >= 0 ? row + 1 : insertAt; i < size; i++) {
+            builder.copy(this, i);
+        }
+        return builder.build();
+    }
+    
+    /**
+     * A copy with the department renamed; the row columns are shared with this snapshot.
+     */
+    public EmployeeDirectorySnapshot withDepartmentName(long departmentId, String name) {
+        for (int code = 0; code < departmentIds.length; code++) {
+            if (departmentIds[code] == departmentId) {
+                String[] names = departmentNames.clone();
+                names[code] = name;
+                return new EmployeeDirectorySnapshot(size, ids, nameOffsets, nameChars, departments,
+                        departmentIds, names, designations, designationNames, statuses);
+            }
+        }
+        return this;
+    }
+    
+    /**
+     * Approximate heap size of the arrays and dictionary strings, assuming compressed oops and
+     * compact (Latin-1) strings.
+     */
+    public long estimatedBytes() {
+        long bytes = array(ids.length, 8) + array(nameOffsets.length, 4) + array(nameChars.length, 2)
+                + array(departments.length, 4) + array(departmentIds.length, 8) + array(departmentNames.length, 4)
+                + array(designations.length, 4) + array(designationNames.length, 4) + array(statuses.length, 1);
+        for (String departmentName : departmentNames) {
+            bytes += string(departmentName);
+        }
+        for (String designationName : designationNames) {
+            bytes += string(designationName);
+        }
+        return bytes;
+    }
+    
+    private DirectoryEntry entry(int row) {
+        int department = departments[row];
+        int designation = designations[row];
+        return new DirectoryEntry(
+                ids[row],
+                new String(nameChars, nameOffsets[row], nameOffsets[row + 1] - nameOffsets[row]),
+                department != NONE ? departmentIds[department] : null,
+                department != NONE ? departmentNames[department] : null,
+                designation != NONE ? designationNames[designation] : null,
+                STATUSES[statuses[row]]);
+    }
+    
+    private boolean nameContains(int row, char[] needle) {
+        int start = nameOffsets[row];
+        int last = nameOffsets[row + 1] - needle.length;
+        for (int from = start; from <= last; from++) {
+            int i = 0;
+            while (i < needle.length && Character.toLowerCase(nameChars[from + i]) == needle[i]) {
+                i++;
+            }
+            if (i == needle.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static long array(int length, int elementBytes) {
+        return align(16 + (long) length * elementBytes);
+    }
+    
+    private static long string(String value) {
+        return value == null ? 0 : 24 + array(value.length(), 1);
+    }
+    
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+    
+    /**
+     * Appends rows in ascending id order and interns department and designation names.
+     */
+    public static final class Builder {
+        
+        private int size;
+        
+        private long[] ids;
+        
+        private int[] nameOffsets;
+        
+        private char[] nameChars;
+        
+        private int[] departments;
+        
+        private int[] designations;
+        
+        private byte[] statuses;
+        
+        private final Map<Long, Integer> departmentCodes = new HashMap<>();
+        
+        private final List<Long> departmentIds = new ArrayList<>();
+        
+        private final List<String> departmentNames = new ArrayList<>();
+        
+        private final Map<String, Integer> designationCodes = new HashMap<>();
+        
+        private final List<String> designationNames = new ArrayList<>();
+        
+        private Builder(int expectedSize) {
+            this(expectedSize, Math.max(16, expectedSize) * 16);
+        }
+        
+        private Builder(int expectedSize, int expectedNameChars) {
+            int capacity = Math.max(16, expectedSize);
+            ids = new long[capacity];
+            nameOffsets = new int[capacity + 1];
+            nameChars = new char[expectedNameChars];
+            departments = new int[capacity];
+            designations = new int[capacity];
+            statuses = new byte[capacity];
+        }
+        
+        // Keeps the base snapshot's dictionary codes so its rows can be copied without lookups
+        private Builder(EmployeeDirectorySnapshot base, int expectedSize) {
+            this(expectedSize, base.nameChars.length + 64);
+            for (int code = 0; code < base.departmentIds.length; code++) {
+                departmentCodes.put(base.departmentIds[code], code);
+                departmentIds.add(base.departmentIds[code]);
+                departmentNames.add(base.departmentNames[code]);
+            }
+            for (int code = 0; code < base.designationNames.length; code++) {
+                designationCodes.put(base.designationNames[code], code);
+                designationNames.add(base.designationNames[code]);
+            }
+        }
+        
+        public Builder add(DirectoryEntry entry) {
+            int department = NONE;
+            if (entry.getDepartmentId() != null) {
+                department = departmentCodes.computeIfAbsent(entry.getDepartmentId(), id -> {
+                    departmentIds.add(id);
+                    departmentNames.add(entry.getDepartmentName());
+                    return departmentIds.size() - 1;
+                });
+            }
+            int designation = NONE;
+            if (entry.getDesignation() != null) {
+                designation = designationCodes.computeIfAbsent(entry.getDesignation(), value -> {
+                    designationNames.add(value);
+                    return designationNames.size() - 1;
+                });
+            }
+            String name = entry.getName() != null ? entry.getName() : "";
+            append(entry.getId(), name.length(), department, designation, (byte) entry.getStatus().ordinal());
+            name.getChars(0, name.length(), nameChars, nameOffsets[size - 1]);
+            return this;
+        }
+        
+        private void copy(EmployeeDirectorySnapshot base, int row) {
+            int start = base.nameOffsets[row];
+            int length = base.nameOffsets[row + 1] - start;
+            append(base.ids[row], length, base.departments[row], base.designations[row], base.statuses[row]);
+            System.arraycopy(base.nameChars, start, nameChars, nameOffsets[size - 1], length);
+        }
+        
+        private void append(long id, int nameLength, int department, int designation, byte status) {
+            if (size > 0 && id <= ids[size - 1]) {
+                throw new IllegalArgumentException("Directory rows must be added in ascending id order");
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+                departments = Arrays.copyOf(departments, capacity);
+                designations = Arrays.copyOf(designations, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+            int nameStart = nameOffsets[size];
+            if (nameStart + nameLength > nameChars.length) {
+                nameChars = Arrays.copyOf(nameChars, Math.max(nameChars.length * 2, nameStart + nameLength));
+            }
+            ids[size] = id;
+            departments[size] = department;
+            designations[size] = designation;
+            statuses[size] = status;
+            nameOffsets[size + 1] = nameStart + nameLength;
+            size++;
+        }
+        
+        public EmployeeDirectorySnapshot build() {
+            return new EmployeeDirectorySnapshot(size,
+                    Arrays.copyOf(ids, size),
+                    Arrays.copyOf(nameOffsets, size + 1),
+                    Arrays.copyOf(nameChars, nameOffsets[size]),
+                    Arrays.copyOf(departments, size),
+                    departmentIds.stream().mapToLong(Long::longValue).toArray(),
+                    departmentNames.toArray(new String[0]),
+                    Arrays.copyOf(designations, size),
+                    designationNames.toArray(new String[0]),
+                    Arrays.copyOf(statuses, size));
+        }
+    }
+}
@@ -7,14 +7,27 @@ import com.ems.entity.User;
 import com.ems.repository.DepartmentRepository;
 import com.ems.repository.EmployeeRepository;
 import com.ems.repository.UserRepository;
+import com.ems.security.JwtUserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.function.SingletonSupplier;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,15 +46,53 @@ public class EmployeeService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    // Resolved on first use, so the fast-startup profile can leave the mapper out of startup
+    private Supplier<ModelMapper> modelMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private EntityStreamer entityStreamer;
+    
+    @Autowired
+    private AggregateVersions aggregateVersions;
+    
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+    
     @Autowired
-    private ModelMapper modelMapper;
+    private EmploymentHistory employmentHistory;
+    
+    @Autowired
+    private EmployeeDirectory employeeDirectory;
+    
+    @Autowired
+    private CompensationService compensationService;
+    
+    private Timer convertToDtoTimer;
+    
+    @Autowired
+    public void setModelMapper(ObjectProvider<ModelMapper> modelMapperProvider) {
+        this.modelMapper = SingletonSupplier.of(modelMapperProvider::getObject);
+    }
     
-    public List<EmployeeDto> getAllEmployees() {
-        return employeeRepository.findAll().stream()
+    @PostConstruct
+    public void initMetrics() {
+        convertToDtoTimer = Timer.builder("ems.employee.convert-to-dto")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    // Each page opens its own transaction; none is held while the response is written
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllEmployees(Consumer<EmployeeDto> action) {
+        entityStreamer.forEach((afterId, limit) -> employeeRepository.findPageAfter(afterId, limit).stream()
                 .map(this::convertToDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), EmployeeDto::getId, action);
     }
     
+    @Transactional(readOnly = true)
     public Optional<EmployeeDto> getEmployeeById(Long id) {
         return employeeRepository.findById(id)
                 .map(this::convertToDto);
@@ -63,12 +114,20 @@ public class EmployeeService {
         }
         
         Employee savedEmployee = employeeRepository.save(employee);
+        employmentHistory.recordHire(savedEmployee);
+        compensationService.recordHire(savedEmployee);
+        employeeDirectory.employeeChanged(savedEmployee.getId());
+        aggregateVersions.bump(AggregateVersions.Aggregate.EMPLOYEES);
         return convertToDto(savedEmployee);
     }
     
     public EmployeeDto updateEmployee(Long id, EmployeeDto employeeDto) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
+        Long previousDepartmentId = EmploymentHistory.departmentId(employee);
+        Employee.Status previousStatus = employee.getStatus();
+        BigDecimal previousSalary = employee.getSalary();
+        LocalDate previousJoinDate = employee.getJoinDate();
         
         employee.setName(employeeDto.getName());
         employee.setEmail(employeeDto.getEmail());
@@ -87,30 +146,76 @@ public class EmployeeService {
         }
         
         Employee updatedEmployee = employeeRepository.save(employee);
+        employmentHistory.recordChange(updatedEmployee, previousDepartmentId, previousStatus);
+        compensationService.recordChange(updatedEmployee, previousSalary);
+        if (!previousJoinDate.equals(updatedEmployee.getJoinDate())) {
+            employmentHistory.correctHireDate(updatedEmployee);
+            compensationService.correctHireDate(updatedEmployee);
+        }
+        employeeDirectory.employeeChanged(id);
+        aggregateVersions.bump(AggregateVersions.Aggregate.EMPLOYEES);
         return convertToDto(updatedEmployee);
     }
     
     public void deleteEmployee(Long id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
+        Employee.Status previousStatus = employee.getStatus();
         
         // Soft delete - mark as terminated
         employee.setStatus(Employee.Status.TERMINATED);
         employeeRepository.save(employee);
+        employmentHistory.recordChange(employee, EmploymentHistory.departmentId(employee), previousStatus);
+        employeeDirectory.employeeChanged(id);
+        aggregateVersions.bump(AggregateVersions.Aggregate.EMPLOYEES);
     }
     
+    @Transactional(readOnly = true)
     public List<EmployeeDto> getEmployeesByDepartment(Long departmentId) {
         return employeeRepository.findByDepartmentId(departmentId).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public List<EmployeeDto> getEmployeesByDepartmentSubtree(Long departmentId) {
+        return employeeRepository.findByDepartmentIdIn(departmentHierarchy.subtreeIds(departmentId)).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional(readOnly = true)
     public long getActiveEmployeeCount() {
         return employeeRepository.countActiveEmployees();
     }
     
+    // Evaluated by @PreAuthorize on every employee request: JWT principals need no transaction (and no
+    // pooled connection); only the legacy User principal's lookup opens one, inside the repository call
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean isCurrentEmployee(Long employeeId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+        
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof JwtUserPrincipal jwtPrincipal) {
+            return employeeId != null && employeeId.equals(jwtPrincipal.getEmployeeId());
+        }
+        if (principal instanceof User user) {
+            return employeeRepository.findByUserId(user.getId())
+                    .map(employee -> employee.getId().equals(employeeId))
+                    .orElse(false);
+        }
+        return false;
+    }
+    
     private EmployeeDto convertToDto(Employee employee) {
-        EmployeeDto dto = modelMapper.map(employee, EmployeeDto.class);
+        return convertToDtoTimer.record(() -> mapToDto(employee));
+    }
+    
+    private EmployeeDto mapToDto(Employee employee) {
+        EmployeeDto dto = modelMapper.get().map(employee, EmployeeDto.class);
         if (employee.getDepartment() != null) {
             dto.setDepartmentId(employee.getDepartment().getId());
             dto.setDepartmentName(employee.getDepartment().getName());
@@ -123,7 +228,7 @@ public class EmployeeService {
     }
     
     private Employee convertToEntity(EmployeeDto dto) {
-        Employee employee = modelMapper.map(dto, Employee.class);
+        Employee employee = modelMapper.get().map(dto, Employee.class);
         
         if (dto.getDepartmentId() != null) {
             Department department = departmentRepository.findById(dto.getDepartmentId())
@@ -0,0 +1,71 @@
+package com.ems.service;
+
+import com.ems.entity.Employee;
+import com.ems.entity.EmploymentEvent;
+import com.ems.repository.EmploymentEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Appends an employment event whenever an employee's department or status changes, so headcount
+ * can be reported as it was on any past day rather than from the current rows.
+ */
+@Service
+@Transactional
+public class EmploymentHistory {
+    
+    @Autowired
+    private EmploymentEventRepository eventRepository;
+    
+    public void recordHire(Employee employee) {
+        save(employee, employee.getJoinDate(), null, null);
+    }
+    
+    /**
+     * Records the change from the given previous state, effective today; does nothing if neither
+     * the department nor the status changed.
+     */
+    public void recordChange(Employee employee, Long previousDepartmentId, Employee.Status previousStatus) {
+        if (Objects.equals(previousDepartmentId, departmentId(employee)) && previousStatus == employee.getStatus()) {
+            return;
+        }
+        save(employee, LocalDate.now(), previousDepartmentId, previousStatus);
+    }
+    
+    /**
+     * Moves the hire event to the employee's corrected join date. The join date cannot move past a
+     * change already recorded for the employee.
+     */
+    public void correctHireDate(Employee employee) {
+        LocalDate firstChange = eventRepository.findEarliestChangeDate(employee.getId());
+        if (firstChange != null && employee.getJoinDate().isAfter(firstChange)) {
+            throw new RuntimeException("Join date cannot be after the employee's first department or status change on " + firstChange);
+        }
+        eventRepository.updateHireDate(employee.getId(), employee.getJoinDate(), Instant.now());
+    }
+    
+    public int backfillHireEvents(Instant recordedAt) {
+        return eventRepository.insertMissingHireEvents(recordedAt);
+    }
+    
+    public static Long departmentId(Employee employee) {
+        return employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+    }
+    
+    private void save(Employee employee, LocalDate effectiveDate, Long fromDepartmentId, Employee.Status fromStatus) {
+        EmploymentEvent event = new EmploymentEvent();
+        event.setEmployeeId(employee.getId());
+        event.setEffectiveDate(effectiveDate);
+        event.setFromDepartmentId(fromDepartmentId);
+        event.setFromStatus(fromStatus);
+        event.setToDepartmentId(departmentId(employee));
+        event.setToStatus(employee.getStatus());
+        event.setRecordedAt(Instant.now());
+        eventRepository.save(event);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ems.service;
+
+import com.ems.config.StatementBudget;
+import com.ems.config.StatementCounter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Hands query results to a consumer one at a time, reading them in pages ordered by id (keyset
+ * paging). Each page is read in its own short read-only transaction and handed over after it
+ * commits, so a client reading a streamed response slowly holds no connection while it does.
+ * The trade-off is that a response is not one snapshot: a row changed while it is being sent
+ * shows up in whichever state its page saw. Must be called outside a transaction.
+ */
+@Component
+public class EntityStreamer {
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ObjectProvider<StatementBudget> statementBudget;
+    
+    @Value("${app.streaming.page-size:500}")
+    private int pageSize;
+    
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * @param pageAfter reads up to the given number of rows with an id above the given one, in id order;
+     *                  anything that needs the session (DTO conversion) must happen in here
+     * @param idOf      the id of a row returned by {@code pageAfter}
+     */
+    public <T> void forEach(BiFunction<Long, Limit, List<T>> pageAfter, Function<T, Long> idOf, Consumer<? super T> action) {
+        Long afterId = Long.MIN_VALUE;
+        List<T> page;
+        do {
+            page = readPage(pageAfter, afterId);
+            page.forEach(action);
+            if (!page.isEmpty()) {
+                afterId = idOf.apply(page.get(page.size() - 1));
+            }
+        } while (page.size() == pageSize);
+    }
+    
+    // Budgeted per page, since a page is the unit of database work; a long response is many pages
+    private <T> List<T> readPage(BiFunction<Long, Limit, List<T>> pageAfter, Long afterId) {
+        StatementBudget budget = statementBudget.getIfAvailable();
+        try (StatementCounter.Scope scope = budget != null ? budget.open() : null) {
+            List<T> page = readOnlyTransaction.execute(status -> pageAfter.apply(afterId, Limit.of(pageSize)));
+            if (scope != null) {
+                budget.check("Streamed page after id " + afterId, scope);
+            }
+            return page;
+        }
+    }
+}
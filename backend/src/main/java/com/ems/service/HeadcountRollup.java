@@ -0,0 +1,190 @@
+package com.ems.service;
+
+import com.ems.config.StartupTasks;
+import com.ems.entity.Employee;
+import com.ems.entity.HeadcountDaily;
+import com.ems.entity.HeadcountRollupState;
+import com.ems.repository.EmploymentEventRepository;
+import com.ems.repository.HeadcountDailyRepository;
+import com.ems.repository.HeadcountRollupStateRepository;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rolls employment events up into headcount_daily, one row per day, department and status. Each run
+ * continues from the last rolled-up day, carrying the previous day's counts forward and applying
+ * that day's events, and goes back further only when events were recorded with an earlier
+ * effective date (a hire entered late, or a corrected join date) since the last run.
+ */
+@Component
+public class HeadcountRollup {
+    
+    private static final Log log = LogFactory.getLog(HeadcountRollup.class);
+    
+    // Events are only trusted to be visible once their transaction has surely committed
+    private static final Duration RECORDING_GRACE = Duration.ofMinutes(1);
+    
+    private static final String INSERT_HEADCOUNT =
+            "INSERT INTO headcount_daily (snapshot_date, department_id, status, headcount) VALUES (?, ?, ?, ?)";
+    private static final int[] HEADCOUNT_TYPES = {Types.DATE, Types.BIGINT, Types.VARCHAR, Types.BIGINT};
+    
+    private static final int INSERT_BATCH_SIZE = 5000;
+    
+    private record DepartmentStatus(long departmentId, Employee.Status status) {
+    }
+    
+    @Autowired
+    private EmploymentEventRepository eventRepository;
+    
+    @Autowired
+    private HeadcountDailyRepository headcountRepository;
+    
+    @Autowired
+    private HeadcountRollupStateRepository stateRepository;
+    
+    @Autowired
+    private EmploymentHistory employmentHistory;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TaskScheduler taskScheduler;
+    
+    @Autowired
+    private StartupTasks startupTasks;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // Keeps the nightly run and the catch-up after startup from overlapping, without a monitor held across JDBC calls
+    private final ReentrantLock rollupLock = new ReentrantLock();
+    
+    // The first run starts no earlier than this many days back; older hires only count towards the starting totals
+    @Value("${app.headcount.history-days:1095}")
+    private int historyDays;
+    
+    // Catch up on days missed while the application was down, once seeded data is in place
+    @EventListener(ApplicationReadyEvent.class)
+    public void rollUpAfterStartup() {
+        startupTasks.afterSeeding(() -> taskScheduler.schedule(this::rollUp, Instant.now()));
+    }
+    
+    @Scheduled(cron = "${app.headcount.rollup-cron:0 30 0 * * *}")
+    public void rollUp() {
+        rollupLock.lock();
+        try {
+            long started = System.nanoTime();
+            Integer days = new TransactionTemplate(transactionManager).execute(status -> rollUpThrough(LocalDate.now().minusDays(1)));
+            if (days > 0) {
+                log.info(String.format("Headcount rolled up for %d days in %dms", days, (System.nanoTime() - started) / 1_000_000));
+            }
+        } finally {
+            rollupLock.unlock();
+        }
+    }
+    
+    private int rollUpThrough(LocalDate through) {
+        Instant cutoff = Instant.now().minus(RECORDING_GRACE);
+        employmentHistory.backfillHireEvents(cutoff);
+        
+        HeadcountRollupState state = stateRepository.findById(HeadcountRollupState.ID).orElse(null);
+        LocalDate start;
+        if (state == null) {
+            LocalDate earliest = eventRepository.findEarliestEffectiveDate();
+            if (earliest == null) {
+                return 0;
+            }
+            LocalDate historyStart = through.minusDays(historyDays - 1L);
+            start = earliest.isAfter(historyStart) ? earliest : historyStart;
+            state = new HeadcountRollupState(HeadcountRollupState.ID, start.minusDays(1), cutoff);
+        } else {
+            start = state.getRolledThrough().plusDays(1);
+            LocalDate backdated = eventRepository.findEarliestEffectiveDateRecordedBetween(
+                    state.getEventsRecordedThrough(), cutoff);
+            LocalDate corrected = eventRepository.findEarliestCorrectedFromRecordedBetween(
+                    state.getEventsRecordedThrough(), cutoff);
+            if (corrected != null && (backdated == null || corrected.isBefore(backdated))) {
+                backdated = corrected;
+            }
+            if (backdated != null && backdated.isBefore(start)) {
+                LocalDate firstSnapshot = headcountRepository.findFirstSnapshotDate();
+                start = firstSnapshot != null && backdated.isBefore(firstSnapshot) ? firstSnapshot : backdated;
+            }
+        }
+        
+        int days = 0;
+        if (!start.isAfter(through)) {
+            days = writeDays(start, through);
+            state.setRolledThrough(through);
+        }
+        state.setEventsRecordedThrough(cutoff);
+        stateRepository.save(state);
+        return days;
+    }
+    
+    private int writeDays(LocalDate start, LocalDate through) {
+        Map<DepartmentStatus, Long> counts = new HashMap<>();
+        for (Object[] row : eventRepository.countStatesBefore(start)) {
+            counts.merge(key(row[0], row[1]), (Long) row[2], Long::sum);
+        }
+        Map<LocalDate, Map<DepartmentStatus, Long>> changes = new HashMap<>();
+        for (Object[] row : eventRepository.countArrivalsBetween(start, through)) {
+            changes.computeIfAbsent((LocalDate) row[0], day -> new HashMap<>())
+                    .merge(key(row[1], row[2]), (Long) row[3], Long::sum);
+        }
+        for (Object[] row : eventRepository.countDeparturesBetween(start, through)) {
+            changes.computeIfAbsent((LocalDate) row[0], day -> new HashMap<>())
+                    .merge(key(row[1], row[2]), -(Long) row[3], Long::sum);
+        }
+        
+        headcountRepository.deleteFrom(start);
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH_SIZE);
+        int days = 0;
+        for (LocalDate day = start; !day.isAfter(through); day = day.plusDays(1), days++) {
+            Map<DepartmentStatus, Long> dayChanges = changes.get(day);
+            if (dayChanges != null) {
+                dayChanges.forEach((key, delta) -> counts.merge(key, delta, Long::sum));
+                counts.values().removeIf(count -> count == 0);
+            }
+            Date snapshotDate = Date.valueOf(day);
+            for (Map.Entry<DepartmentStatus, Long> entry : counts.entrySet()) {
+                rows.add(new Object[]{snapshotDate, entry.getKey().departmentId(), entry.getKey().status().name(), entry.getValue()});
+            }
+            if (rows.size() >= INSERT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_HEADCOUNT, rows, HEADCOUNT_TYPES);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_HEADCOUNT, rows, HEADCOUNT_TYPES);
+        }
+        return days;
+    }
+    
+    private static DepartmentStatus key(Object departmentId, Object status) {
+        return new DepartmentStatus(departmentId != null ? (Long) departmentId : HeadcountDaily.NO_DEPARTMENT,
+                (Employee.Status) status);
+    }
+}
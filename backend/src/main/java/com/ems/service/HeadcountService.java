@@ -0,0 +1,105 @@
+package com.ems.service;
+
+import com.ems.dto.HeadcountPoint;
+import com.ems.entity.Employee;
+import com.ems.entity.HeadcountRollupState;
+import com.ems.repository.HeadcountDailyRepository;
+import com.ems.repository.HeadcountRollupStateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Transactional(readOnly = true)
+public class HeadcountService {
+    
+    // Headcount is a level, so weekly and monthly points are the last day of each period rather than sums
+    public enum Interval {
+        DAY, WEEK, MONTH
+    }
+    
+    @Autowired
+    private HeadcountDailyRepository headcountRepository;
+    
+    @Autowired
+    private HeadcountRollupStateRepository stateRepository;
+    
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+    
+    /**
+     * Headcount per status from the daily rollup; departmentId covers its whole subtree. Without
+     * dates the series is the year up to the last rolled-up day.
+     */
+    public List<HeadcountPoint> getHeadcountSeries(LocalDate from, LocalDate to, Long departmentId, Interval interval) {
+        if (to == null) {
+            to = stateRepository.findById(HeadcountRollupState.ID)
+                    .map(HeadcountRollupState::getRolledThrough)
+                    .orElse(LocalDate.now().minusDays(1));
+        }
+        if (from == null) {
+            from = to.minusYears(1).plusDays(1);
+        }
+        if (from.isAfter(to)) {
+            throw new RuntimeException("from must not be after to");
+        }
+        
+        Set<Long> departmentIds = departmentId != null ? departmentHierarchy.subtreeIds(departmentId) : null;
+        if (departmentIds != null && departmentIds.isEmpty()) {
+            return List.of();
+        }
+        List<Object[]> rows;
+        if (interval == Interval.DAY) {
+            rows = departmentIds == null
+                    ? headcountRepository.sumByDateBetween(from, to)
+                    : headcountRepository.sumByDateBetweenForDepartments(from, to, departmentIds);
+        } else {
+            List<LocalDate> dates = periodEnds(from, to, interval);
+            rows = departmentIds == null
+                    ? headcountRepository.sumByDateIn(dates)
+                    : headcountRepository.sumByDateInForDepartments(dates, departmentIds);
+        }
+        return toPoints(rows);
+    }
+    
+    private static List<LocalDate> periodEnds(LocalDate from, LocalDate to, Interval interval) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate end = interval == Interval.WEEK
+                ? from.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY))
+                : from.with(TemporalAdjusters.lastDayOfMonth());
+        while (end.isBefore(to)) {
+            dates.add(end);
+            end = interval == Interval.WEEK
+                    ? end.plusWeeks(1)
+                    : end.plusMonths(1).with(TemporalAdjusters.lastDayOfMonth());
+        }
+        // The last, possibly partial, period ends on the requested day
+        dates.add(to);
+        return dates;
+    }
+    
+    // Rows arrive ordered by date as [snapshotDate, status, headcount]
+    private static List<HeadcountPoint> toPoints(List<Object[]> rows) {
+        List<HeadcountPoint> points = new ArrayList<>();
+        HeadcountPoint point = null;
+        for (Object[] row : rows) {
+            LocalDate date = (LocalDate) row[0];
+            if (point == null || !point.getDate().equals(date)) {
+                point = new HeadcountPoint();
+                point.setDate(date);
+                points.add(point);
+            }
+            long headcount = ((Number) row[2]).longValue();
+            point.getHeadcount().put((Employee.Status) row[1], headcount);
+            point.setTotal(point.getTotal() + headcount);
+        }
+        return points;
+    }
+}
@@ -1,8 +1,11 @@
 package com.ems.service;
 
+import com.ems.entity.Employee;
 import com.ems.entity.Salary;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.utils.PdfMerger;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
@@ -10,15 +13,106 @@ import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.kernel.colors.ColorConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class PdfService {
     
+    // Everything printed on a payslip, so an edited salary or employee never matches a stale page.
+    // BigDecimal equality includes the scale, as the printed amounts do.
+    private record PayslipKey(Long salaryId, int month, int year, BigDecimal basicPay, BigDecimal allowances,
+                              BigDecimal deductions, BigDecimal netPay, LocalDate generatedDate, Long employeeId,
+                              String employeeName, String designation, String departmentName) {
+    }
+    
+    private final Map<PayslipKey, byte[]> payslipCache;
+    
+    // An explicit lock rather than synchronized, which would pin virtual threads to their carrier
+    private final ReentrantLock payslipCacheLock = new ReentrantLock();
+    
+    // Recorded explicitly because getPayslipPdf calls the renderer without going through the proxy
+    private final Timer payslipRenderTimer;
+    
+    public PdfService(@Value("${payslip.cache.max-entries:500}") int maxCachedPayslips, MeterRegistry meterRegistry) {
+        this.payslipRenderTimer = Timer.builder("ems.payslip.render")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        // LRU of rendered payslips
+        this.payslipCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PayslipKey, byte[]> eldest) {
+                return size() > maxCachedPayslips;
+            }
+        };
+    }
+    
+    public byte[] getPayslipPdf(Salary salary) {
+        PayslipKey key = cacheKey(salary);
+        byte[] cached;
+        payslipCacheLock.lock();
+        try {
+            cached = payslipCache.get(key);
+        } finally {
+            payslipCacheLock.unlock();
+        }
+        if (cached != null) {
+            return cached;
+        }
+        
+        byte[] pdfBytes = generatePayslipPdf(salary);
+        payslipCacheLock.lock();
+        try {
+            payslipCache.put(key, pdfBytes);
+        } finally {
+            payslipCacheLock.unlock();
+        }
+        return pdfBytes;
+    }
+    
+    public byte[] generateAnnualStatementPdf(List<Salary> salaries, int year) {
+        if (salaries.isEmpty()) {
+            throw new IllegalArgumentException("No salary records for year " + year);
+        }
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        try {
+            PdfDocument merged = new PdfDocument(new PdfWriter(out));
+            PdfMerger merger = new PdfMerger(merged);
+            
+            appendPages(merger, generateAnnualSummaryPdf(salaries, year));
+            for (Salary salary : salaries) {
+                appendPages(merger, getPayslipPdf(salary));
+            }
+            
+            merged.close();
+            
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating annual statement PDF", e);
+        }
+        
+        return out.toByteArray();
+    }
+    
     public byte[] generatePayslipPdf(Salary salary) {
+        return payslipRenderTimer.record(() -> renderPayslipPdf(salary));
+    }
+    
+    private byte[] renderPayslipPdf(Salary salary) {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         
         try {
@@ -115,6 +209,96 @@ public class PdfService {
         return out.toByteArray();
     }
     
+    private byte[] generateAnnualSummaryPdf(List<Salary> salaries, int year) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Employee employee = salaries.get(0).getEmployee();
+        
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(out));
+        Document document = new Document(pdfDoc);
+        
+        Paragraph title = new Paragraph("ANNUAL SALARY STATEMENT " + year)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setFontSize(18)
+                .setBold()
+                .setMarginBottom(20);
+        document.add(title);
+        
+        Table empTable = new Table(UnitValue.createPercentArray(new float[]{1, 1}))
+                .setWidth(UnitValue.createPercentValue(100))
+                .setMarginBottom(20);
+        
+        empTable.addCell(createCell("Employee Name:", true));
+        empTable.addCell(createCell(employee.getName(), false));
+        
+        empTable.addCell(createCell("Employee ID:", true));
+        empTable.addCell(createCell(employee.getId().toString(), false));
+        
+        empTable.addCell(createCell("Department:", true));
+        empTable.addCell(createCell(employee.getDepartment() != null ? employee.getDepartment().getName() : "-", false));
+        
+        empTable.addCell(createCell("Designation:", true));
+        empTable.addCell(createCell(employee.getDesignation(), false));
+        
+        empTable.addCell(createCell("Months Paid:", true));
+        empTable.addCell(createCell(String.valueOf(salaries.size()), false));
+        
+        document.add(empTable);
+        
+        // Month by month breakdown with totals
+        Table totalsTable = new Table(UnitValue.createPercentArray(new float[]{2, 2, 2, 2, 2}))
+                .setWidth(UnitValue.createPercentValue(100));
+        
+        totalsTable.addCell(createHeaderCell("MONTH"));
+        totalsTable.addCell(createHeaderCell("BASIC PAY"));
+        totalsTable.addCell(createHeaderCell("ALLOWANCES"));
+        totalsTable.addCell(createHeaderCell("DEDUCTIONS"));
+        totalsTable.addCell(createHeaderCell("NET PAY"));
+        
+        BigDecimal totalBasic = BigDecimal.ZERO;
+        BigDecimal totalAllowances = BigDecimal.ZERO;
+        BigDecimal totalDeductions = BigDecimal.ZERO;
+        BigDecimal totalNet = BigDecimal.ZERO;
+        
+        for (Salary salary : salaries) {
+            totalsTable.addCell(createCell(getMonthName(salary.getMonth()), false));
+            totalsTable.addCell(createCell("₹" + salary.getBasicPay().toString(), false));
+            totalsTable.addCell(createCell("₹" + salary.getAllowances().toString(), false));
+            totalsTable.addCell(createCell("₹" + salary.getDeductions().toString(), false));
+            totalsTable.addCell(createCell("₹" + salary.getNetPay().toString(), false));
+            
+            totalBasic = totalBasic.add(salary.getBasicPay());
+            totalAllowances = totalAllowances.add(salary.getAllowances());
+            totalDeductions = totalDeductions.add(salary.getDeductions());
+            totalNet = totalNet.add(salary.getNetPay());
+        }
+        
+        totalsTable.addCell(createNetPayCell("TOTAL"));
+        totalsTable.addCell(createNetPayCell("₹" + totalBasic.toString()));
+        totalsTable.addCell(createNetPayCell("₹" + totalAllowances.toString()));
+        totalsTable.addCell(createNetPayCell("₹" + totalDeductions.toString()));
+        totalsTable.addCell(createNetPayCell("₹" + totalNet.toString()));
+        
+        document.add(totalsTable);
+        
+        document.close();
+        
+        return out.toByteArray();
+    }
+    
+    private void appendPages(PdfMerger merger, byte[] pdfBytes) throws IOException {
+        PdfDocument source = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdfBytes)));
+        merger.merge(source, 1, source.getNumberOfPages());
+        source.close();
+    }
+    
+    private PayslipKey cacheKey(Salary salary) {
+        Employee employee = salary.getEmployee();
+        return new PayslipKey(salary.getId(), salary.getMonth(), salary.getYear(),
+                salary.getBasicPay(), salary.getAllowances(), salary.getDeductions(), salary.getNetPay(),
+                salary.getGeneratedDate(), employee.getId(), employee.getName(), employee.getDesignation(),
+                employee.getDepartment() != null ? employee.getDepartment().getName() : null);
+    }
+    
     private Cell createCell(String text, boolean isBold) {
         Cell cell = new Cell().add(new Paragraph(text));
         if (isBold) {
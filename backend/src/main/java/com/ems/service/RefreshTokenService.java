@@ -0,0 +1,126 @@
+package com.ems.service;
+
+import com.ems.dto.JwtResponse;
+import com.ems.entity.RefreshToken;
+import com.ems.entity.User;
+import com.ems.repository.RefreshTokenRepository;
+import com.ems.security.JwtUtils;
+import com.ems.security.TokenRevocationList;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Service
+@Transactional
+public class RefreshTokenService {
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Autowired
+    private JwtUtils jwtUtils;
+    
+    @Autowired
+    private TokenRevocationList revocationList;
+    
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpirationMs;
+    
+    @Value("${jwt.refresh-reuse-grace-ms:10000}")
+    private long reuseGraceMs;
+    
+    public JwtResponse issueTokens(User user, Long employeeId) {
+        String accessToken = jwtUtils.generateJwtToken(user, employeeId);
+        String refreshToken = createRefreshToken(user, employeeId);
+        return new JwtResponse(accessToken, refreshToken, user.getUsername(), user.getRole().name(), employeeId);
+    }
+    
+    /**
+     * Exchanges a refresh token for a new access/refresh pair. The presented token is
+     * consumed; presenting it again is treated as theft and revokes the whole session family,
+     * unless it was rotated within the last jwt.refresh-reuse-grace-ms. That is two tabs
+     * refreshing at once: the later one is refused, but the session the earlier one got survives.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public JwtResponse refresh(String rawToken) {
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token not found"));
+        User user = stored.getUser();
+        LocalDateTime now = LocalDateTime.now();
+        
+        if (stored.isRevoked()) {
+            if (stored.getRotatedAt() != null && !stored.getRotatedAt().plusNanos(reuseGraceMs * 1_000_000).isBefore(now)) {
+                throw new InvalidRefreshTokenException("Refresh token has just been rotated");
+            }
+            refreshTokenRepository.revokeAllByUserId(user.getId());
+            revocationList.revokeAllForUser(user.getId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+        if (stored.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+        if (!user.isEnabled() || revocationList.isUserDisabled(user.getId())) {
+            throw new InvalidRefreshTokenException("User account is disabled");
+        }
+        
+        // Zero rows: a concurrent refresh with the same token committed first, moments ago
+        if (refreshTokenRepository.rotate(stored.getId(), now) != 1) {
+            throw new InvalidRefreshTokenException("Refresh token has just been rotated");
+        }
+        return issueTokens(user, stored.getEmployeeId());
+    }
+    
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> token.setRevoked(true));
+    }
+    
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 0 3 * * *}")
+    public void deleteExpiredTokens() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+    
+    private String createRefreshToken(User user, Long employeeId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(user);
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setEmployeeId(employeeId);
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plusNanos(refreshExpirationMs * 1_000_000));
+        refreshTokenRepository.save(refreshToken);
+        
+        return rawToken;
+    }
+    
+    private String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    public static class InvalidRefreshTokenException extends RuntimeException {
+        public InvalidRefreshTokenException(String message) {
+            super(message);
+        }
+    }
+}
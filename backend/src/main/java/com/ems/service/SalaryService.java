@@ -1,44 +1,88 @@
 package com.ems.service;
 
+import com.ems.dto.SalaryEntry;
+import com.ems.entity.CompensationHistory;
 import com.ems.entity.Employee;
 import com.ems.entity.Salary;
+import com.ems.repository.CompensationHistoryRepository;
 import com.ems.repository.EmployeeRepository;
 import com.ems.repository.SalaryRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
 public class SalaryService {
     
+    private static final int PAYROLL_FLUSH_INTERVAL = 1000;
+    
     @Autowired
     private SalaryRepository salaryRepository;
     
     @Autowired
     private EmployeeRepository employeeRepository;
     
-    public List<Salary> getAllSalaries() {
-        return salaryRepository.findAll();
+    @Autowired
+    private EntityStreamer entityStreamer;
+    
+    @Autowired
+    private AggregateVersions aggregateVersions;
+    
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+    
+    @Autowired
+    private CompensationService compensationService;
+    
+    @Autowired
+    private CompensationHistoryRepository compensationHistoryRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Transactional(readOnly = true)
+    public List<SalaryEntry> getAllSalaries() {
+        return salaryRepository.findAllEntries();
     }
     
-    public List<Salary> getSalariesByEmployee(Long employeeId) {
-        return salaryRepository.findByEmployeeId(employeeId);
+    @Transactional(readOnly = true)
+    public List<SalaryEntry> getSalariesByEmployee(Long employeeId) {
+        return salaryRepository.findEntriesByEmployeeId(employeeId);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Salary> getSalaryByEmployeeAndMonth(Long employeeId, int month, int year) {
         return salaryRepository.findByEmployeeIdAndMonthAndYear(employeeId, month, year);
     }
     
+    @Transactional(readOnly = true)
+    public List<Salary> getSalariesByEmployeeAndYear(Long employeeId, int year) {
+        return salaryRepository.findByEmployeeIdAndYear(employeeId, year);
+    }
+    
+    @Timed(value = "ems.salary.generate", histogram = true)
     public Salary generateSalary(Long employeeId, int month, int year, BigDecimal allowances, BigDecimal deductions) {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
         
+        // The month is paid at the rate in effect on its last day, so regenerating a past month keeps its rate
+        BigDecimal basicPay = compensationService.getCompensationAsOf(employeeId, YearMonth.of(year, month).atEndOfMonth())
+                .map(CompensationHistory::getSalary)
+                .orElse(employee.getSalary());
+        
         // Check if salary already exists for this employee and month/year
         Optional<Salary> existingSalary = salaryRepository.findByEmployeeIdAndMonthAndYear(employeeId, month, year);
         
@@ -46,6 +90,7 @@ public class SalaryService {
         if (existingSalary.isPresent()) {
             // Update existing salary
             salary = existingSalary.get();
+            salary.setBasicPay(basicPay);
             salary.setAllowances(allowances != null ? allowances : BigDecimal.ZERO);
             salary.setDeductions(deductions != null ? deductions : BigDecimal.ZERO);
         } else {
@@ -54,21 +99,63 @@ public class SalaryService {
             salary.setEmployee(employee);
             salary.setMonth(month);
             salary.setYear(year);
-            salary.setBasicPay(employee.getSalary()); // Use employee's base salary
+            salary.setBasicPay(basicPay);
             salary.setAllowances(allowances != null ? allowances : BigDecimal.ZERO);
             salary.setDeductions(deductions != null ? deductions : BigDecimal.ZERO);
             salary.setGeneratedDate(LocalDate.now());
         }
         
+        aggregateVersions.bump(AggregateVersions.Aggregate.SALARIES);
         return salaryRepository.save(salary);
     }
     
-    public List<Salary> getSalariesByMonth(int month, int year) {
-        return salaryRepository.findByMonthAndYear(month, year);
+    /**
+     * Generates the month's salary record, without allowances or deductions, for every active
+     * employee who does not have one yet. Rates come from one query over the whole population;
+     * the records are written in JDBC batches. Returns the number of records created.
+     */
+    @Timed(value = "ems.salary.generate-payroll")
+    public int generatePayroll(int month, int year) {
+        List<Object[]> rates = compensationHistoryRepository.findPayrollRates(YearMonth.of(year, month).atEndOfMonth(), month, year);
+        LocalDate today = LocalDate.now();
+        int count = 0;
+        for (Object[] rate : rates) {
+            Salary salary = new Salary();
+            // A proxy straight from the persistence context: no query, and no repository interceptors per row
+            salary.setEmployee(entityManager.getReference(Employee.class, ((Number) rate[0]).longValue()));
+            salary.setMonth(month);
+            salary.setYear(year);
+            salary.setBasicPay((BigDecimal) rate[1]);
+            salary.setGeneratedDate(today);
+            entityManager.persist(salary);
+            // Keeps the persistence context, and the dirty check at flush, small
+            if (++count % PAYROLL_FLUSH_INTERVAL == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        if (count > 0) {
+            aggregateVersions.bump(AggregateVersions.Aggregate.SALARIES);
+        }
+        return count;
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamSalariesByMonth(int month, int year, Consumer<SalaryEntry> action) {
+        entityStreamer.forEach((afterId, limit) -> salaryRepository.findEntriesByMonthAndYear(month, year, afterId, limit),
+                SalaryEntry::getId, action);
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamSalariesByMonthForDepartment(int month, int year, Long departmentId, Consumer<SalaryEntry> action) {
+        Set<Long> departmentIds = departmentHierarchy.subtreeIds(departmentId);
+        entityStreamer.forEach((afterId, limit) -> salaryRepository.findEntriesByMonthAndYearAndDepartmentIdIn(
+                month, year, departmentIds, afterId, limit), SalaryEntry::getId, action);
     }
     
     public void deleteSalary(Long id) {
         salaryRepository.deleteById(id);
+        aggregateVersions.bump(AggregateVersions.Aggregate.SALARIES);
     }
     
     public Salary updateSalary(Long id, BigDecimal allowances, BigDecimal deductions) {
@@ -78,6 +165,7 @@ public class SalaryService {
         salary.setAllowances(allowances != null ? allowances : BigDecimal.ZERO);
         salary.setDeductions(deductions != null ? deductions : BigDecimal.ZERO);
         
+        aggregateVersions.bump(AggregateVersions.Aggregate.SALARIES);
         return salaryRepository.save(salary);
     }
 }
\ No newline at end of file
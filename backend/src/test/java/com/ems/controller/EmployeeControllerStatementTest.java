@@ -0,0 +1,95 @@
+package com.ems.controller;
+
+import com.ems.entity.Department;
+import com.ems.entity.Employee;
+import com.ems.entity.User;
+import com.ems.repository.DepartmentRepository;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.UserRepository;
+import com.ems.support.MaxStatements;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement counts of the employee list endpoints. The fixture is committed rather than rolled
+ * back with the test, so the request loads it from the database as it would in production.
+ */
+@SpringBootTest(properties = "app.audit.dir=target/audit-log")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class EmployeeControllerStatementTest {
+    
+    private static final int EMPLOYEES = 10;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private Department department;
+    
+    private final List<Employee> employees = new ArrayList<>();
+    
+    @BeforeEach
+    void createDepartment() {
+        department = new Department();
+        department.setName("Statement Budget");
+        department = departmentRepository.save(department);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            User user = new User();
+            user.setUsername("budget.user" + i);
+            user.setPassword("unused");
+            user.setRole(User.Role.EMPLOYEE);
+            user = userRepository.save(user);
+            
+            Employee employee = new Employee();
+            employee.setName("Budget Employee " + i);
+            employee.setEmail("budget.employee" + i + "@example.com");
+            employee.setDepartment(department);
+            employee.setDesignation("Engineer");
+            employee.setSalary(new BigDecimal("50000.00"));
+            employee.setJoinDate(LocalDate.of(2020, 1, 1));
+            employee.setUser(user);
+            employees.add(employeeRepository.save(employee));
+        }
+    }
+    
+    @AfterEach
+    void deleteDepartment() {
+        employeeRepository.deleteAll(employees);
+        userRepository.deleteAll(employees.stream().map(Employee::getUser).toList());
+        departmentRepository.delete(department);
+    }
+    
+    // One query however many employees the department has: department and user are fetched with them
+    @Test
+    @MaxStatements(1)
+    void employeesByDepartmentAreReadInOneQuery() throws Exception {
+        mockMvc.perform(get("/api/employees/department/{departmentId}", department.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(EMPLOYEES))
+                .andExpect(jsonPath("$[0].username").value("budget.user0"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.ems.service;
+
+import com.ems.audit.AuditLog;
+import com.ems.audit.AuditRecord;
+import com.ems.dto.SalaryRevisionRequest;
+import com.ems.entity.CompensationHistory;
+import com.ems.entity.Department;
+import com.ems.entity.Employee;
+import com.ems.entity.Salary;
+import com.ems.entity.SalaryRevision;
+import com.ems.repository.CompensationHistoryRepository;
+import com.ems.repository.DepartmentRepository;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.SalaryRepository;
+import com.ems.repository.SalaryRevisionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Salary revisions against the compensation history. The fixture is committed, as each chunk of a
+ * revision runs in its own transaction.
+ */
+@SpringBootTest(properties = "app.audit.dir=target/audit-log")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class CompensationServiceTest {
+    
+    private static final BigDecimal HIRE_SALARY = new BigDecimal("1000.00");
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private CompensationService compensationService;
+    
+    @Autowired
+    private SalaryService salaryService;
+    
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private CompensationHistoryRepository compensationHistoryRepository;
+    
+    @Autowired
+    private SalaryRevisionRepository salaryRevisionRepository;
+    
+    @Autowired
+    private SalaryRepository salaryRepository;
+    
+    @Autowired
+    private AuditLog auditLog;
+    
+    private Department department;
+    
+    private Employee employee;
+    
+    private final List<SalaryRevision> revisions = new ArrayList<>();
+    
+    private final List<Salary> salaries = new ArrayList<>();
+    
+    @BeforeEach
+    void hireEmployee() {
+        department = new Department();
+        department.setName("Compensation");
+        department = departmentRepository.save(department);
+        
+        employee = new Employee();
+        employee.setName("Compensation Employee");
+        employee.setEmail("compensation.employee@example.com");
+        employee.setDepartment(department);
+        employee.setDesignation("Engineer");
+        employee.setSalary(HIRE_SALARY);
+        employee.setJoinDate(LocalDate.now().minusDays(30));
+        employee = employeeRepository.save(employee);
+        compensationService.recordHire(employee);
+    }
+    
+    @AfterEach
+    void deleteEmployee() {
+        salaryRepository.deleteAll(salaries);
+        compensationHistoryRepository.deleteAll(compensationService.getHistory(employee.getId()));
+        salaryRevisionRepository.deleteAll(revisions);
+        employeeRepository.delete(employee);
+        departmentRepository.delete(department);
+    }
+    
+    // A revision dated before the hire would otherwise sort before the hire row and never be in effect
+    @Test
+    void revisionBackdatedBeforeHireTakesEffectOnJoinDate() throws Exception {
+        revise("10", employee.getJoinDate().minusDays(150));
+        
+        assertEquals(new BigDecimal("1100.00"), employeeRepository.findById(employee.getId()).orElseThrow().getSalary());
+        mockMvc.perform(get("/api/employees/{id}/compensation", employee.getId()).param("asOf", LocalDate.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.salary").value(1100.0))
+                .andExpect(jsonPath("$.effectiveFrom").value(employee.getJoinDate().toString()));
+        mockMvc.perform(get("/api/employees/{id}/compensation", employee.getId())
+                        .param("asOf", employee.getJoinDate().minusDays(1).toString()))
+                .andExpect(status().isNotFound());
+        
+        LocalDate today = LocalDate.now();
+        Salary salary = salaryService.generateSalary(employee.getId(), today.getMonthValue(), today.getYear(), null, null);
+        salaries.add(salary);
+        assertEquals(new BigDecimal("1100.00"), salary.getBasicPay());
+    }
+    
+    @Test
+    void revisionBackdatedBeforeLatestChangeTakesEffectOnThatDay() {
+        LocalDate firstRevision = LocalDate.now().minusDays(10);
+        revise("10", firstRevision);
+        revise("10", firstRevision.minusDays(5));
+        
+        CompensationHistory current = compensationService.getCompensationAsOf(employee.getId(), LocalDate.now()).orElseThrow();
+        assertEquals(new BigDecimal("1210.00"), current.getSalary());
+        assertEquals(firstRevision, current.getEffectiveFrom());
+    }
+    
+    @Test
+    void revisionAuditsEachSalaryChange() throws Exception {
+        Instant started = Instant.now();
+        revise("10", LocalDate.now());
+        
+        // The writer appends queued records in the background
+        List<AuditRecord> updates = List.of();
+        for (int attempt = 0; attempt < 50 && updates.isEmpty(); attempt++) {
+            Thread.sleep(100);
+            updates = auditLog.find(AuditRecord.EntityType.EMPLOYEE, employee.getId(), started, null, 10).stream()
+                    .filter(record -> record.getAction() == AuditRecord.Action.UPDATE)
+                    .toList();
+        }
+        assertEquals(1, updates.size());
+        assertEquals("user", updates.get(0).getActor());
+        assertEquals(List.of(new AuditRecord.Change("salary", "1000.00", "1100.00")), updates.get(0).getChanges());
+    }
+    
+    private void revise(String percentage, LocalDate effectiveDate) {
+        SalaryRevisionRequest request = new SalaryRevisionRequest();
+        request.setDepartmentId(department.getId());
+        request.setPercentage(new BigDecimal(percentage));
+        request.setEffectiveDate(effectiveDate);
+        revisions.add(compensationService.reviseSalaries(request));
+    }
+}
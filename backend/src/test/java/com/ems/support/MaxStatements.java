@@ -0,0 +1,22 @@
+package com.ems.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test if its body issues more than {@code value} SQL statements on the test thread,
+ * e.g. a MockMvc call to a controller. Needs a Spring context with app.sql.budget.enabled (the default).
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@ExtendWith(StatementBudgetExtension.class)
+public @interface MaxStatements {
+    
+    int value();
+}
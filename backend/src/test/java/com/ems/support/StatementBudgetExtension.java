@@ -0,0 +1,43 @@
+package com.ems.support;
+
+import com.ems.config.StatementCounter;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Counts statements around the test method only, so fixtures built in @BeforeEach do not use up the budget.
+ */
+public class StatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(StatementBudgetExtension.class);
+    
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), StatementCounter.openScope());
+    }
+    
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        StatementCounter.Scope scope = context.getStore(NAMESPACE).remove(context.getUniqueId(), StatementCounter.Scope.class);
+        scope.close();
+        int max = maxStatements(context);
+        if (scope.getCount() > max) {
+            StringBuilder message = new StringBuilder("Expected at most " + max + " SQL statements but "
+                    + scope.getCount() + " were issued: " + scope.summary());
+            for (String repeated : scope.repeatedStatements(2)) {
+                message.append("\n  ").append(repeated);
+            }
+            throw new AssertionFailedError(message.toString());
+        }
+    }
+    
+    private int maxStatements(ExtensionContext context) {
+        return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxStatements.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), MaxStatements.class))
+                .map(MaxStatements::value)
+                .orElseThrow(() -> new IllegalStateException("@MaxStatements not found on " + context.getDisplayName()));
+    }
+}
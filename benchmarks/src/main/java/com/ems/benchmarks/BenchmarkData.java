@@ -0,0 +1,124 @@
+package com.ems.benchmarks;
+
+import com.ems.dto.DirectoryEntry;
+import com.ems.entity.Attendance;
+import com.ems.entity.Department;
+import com.ems.entity.Employee;
+import com.ems.entity.Salary;
+import com.ems.entity.User;
+import com.ems.service.EmployeeDirectorySnapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like the demo data, shared by the benchmarks.
+ */
+final class BenchmarkData {
+    
+    static final String JWT_SECRET = "mySecretKeyForJWTTokenGenerationThatShouldBeAtLeast256BitsLong";
+    
+    private static final String[] DESIGNATIONS = {
+        "Software Engineer", "Senior Software Engineer", "HR Specialist", "Accountant", "Team Lead"
+    };
+    
+    private BenchmarkData() {
+    }
+    
+    static Department department(long id) {
+        Department department = new Department();
+        department.setId(id);
+        department.setName("Department " + id);
+        department.setDescription("Benchmark department " + id);
+        return department;
+    }
+    
+    static User user(long id, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoO5uJ0Ec5UzKq8kYq5H0cO5oF1dG7Z7a6");
+        user.setRole(role);
+        user.setEnabled(true);
+        return user;
+    }
+    
+    static Employee employee(long id, Department department) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName("Employee " + id);
+        employee.setEmail("employee" + id + "@company.com");
+        employee.setDepartment(department);
+        employee.setDesignation(DESIGNATIONS[(int) (id % DESIGNATIONS.length)]);
+        employee.setSalary(BigDecimal.valueOf(50000 + (id % 50) * 1000L).setScale(2));
+        employee.setJoinDate(LocalDate.of(2020, 1, 1).plusDays(id % 1000));
+        employee.setStatus(Employee.Status.ACTIVE);
+        employee.setUser(user(id, User.Role.EMPLOYEE));
+        return employee;
+    }
+    
+    static List<Employee> employees(int count) {
+        List<Department> departments = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            departments.add(department(id));
+        }
+        List<Employee> employees = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            employees.add(employee(id, departments.get((int) (id % departments.size()))));
+        }
+        return employees;
+    }
+    
+    static EmployeeDirectorySnapshot directory(List<Employee> employees) {
+        EmployeeDirectorySnapshot.Builder builder = EmployeeDirectorySnapshot.builder(employees.size());
+        for (Employee employee : employees) {
+            Department department = employee.getDepartment();
+            builder.add(new DirectoryEntry(employee.getId(), employee.getName(), department.getId(), department.getName(),
+                    employee.getDesignation(), employee.getStatus()));
+        }
+        return builder.build();
+    }
+    
+    static List<Attendance> attendance(List<Employee> employees, int days) {
+        Attendance.AttendanceStatus[] statuses = Attendance.AttendanceStatus.values();
+        List<Attendance> records = new ArrayList<>(employees.size() * days);
+        long id = 1;
+        for (Employee employee : employees) {
+            for (int day = 0; day < days; day++) {
+                Attendance attendance = new Attendance();
+                attendance.setId(id++);
+                attendance.setEmployee(employee);
+                attendance.setDate(LocalDate.of(2024, 1, 1).plusDays(day));
+                attendance.setStatus(statuses[(int) (id % statuses.length)]);
+                attendance.setRemarks(day % 7 == 0 ? "Traffic" : null);
+                records.add(attendance);
+            }
+        }
+        return records;
+    }
+    
+    static Salary salary(long id, Employee employee, int month) {
+        Salary salary = new Salary();
+        salary.setId(id);
+        salary.setEmployee(employee);
+        salary.setMonth(month);
+        salary.setYear(2024);
+        salary.setBasicPay(employee.getSalary());
+        salary.setAllowances(new BigDecimal("5000.00"));
+        salary.setDeductions(new BigDecimal("2500.00"));
+        salary.setNetPay(employee.getSalary().add(new BigDecimal("2500.00")));
+        salary.setGeneratedDate(LocalDate.of(2024, month, 28));
+        return salary;
+    }
+    
+    static List<Salary> salaries(List<Employee> employees, int month) {
+        List<Salary> salaries = new ArrayList<>(employees.size());
+        long id = 1;
+        for (Employee employee : employees) {
+            salaries.add(salary(id++, employee, month));
+        }
+        return salaries;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ems.benchmarks;
+
+import com.ems.dto.EmployeeDto;
+import com.ems.entity.Employee;
+import com.ems.entity.Salary;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+
+/**
+ * Copies of the backend's private mapping and entity callback code, so the benchmarks need no
+ * Spring context and the backend exposes nothing for them. Keep in step with
+ * EmployeeService.mapToDto and Salary.calculateNetPay.
+ */
+final class BenchmarkMappings {
+    
+    private BenchmarkMappings() {
+    }
+    
+    static EmployeeDto toDto(ModelMapper modelMapper, Employee employee) {
+        EmployeeDto dto = modelMapper.map(employee, EmployeeDto.class);
+        if (employee.getDepartment() != null) {
+            dto.setDepartmentId(employee.getDepartment().getId());
+            dto.setDepartmentName(employee.getDepartment().getName());
+        }
+        if (employee.getUser() != null) {
+            dto.setUsername(employee.getUser().getUsername());
+        }
+        dto.setStatus(employee.getStatus().name());
+        return dto;
+    }
+    
+    static BigDecimal netPay(Salary salary) {
+        return salary.getBasicPay().add(salary.getAllowances()).subtract(salary.getDeductions());
+    }
+}
@@ -0,0 +1,157 @@
+package com.ems.benchmarks;
+
+import com.ems.entity.Attendance;
+import com.ems.entity.Department;
+import com.ems.entity.Employee;
+import com.ems.entity.Salary;
+import com.ems.entity.User;
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists attendance and salary rows in one transaction through Hibernate against an H2 TCP
+ * server, so every statement is a loopback round trip. IDENTITY is the former id mapping
+ * (restored via identity-ids-orm.xml), which forces one INSERT per row; the sequence modes use
+ * the pooled entity generators with JDBC batching off and on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+    
+    public enum IdMode {
+        IDENTITY, SEQUENCE_UNBATCHED, SEQUENCE_BATCHED
+    }
+    
+    private static final int EMPLOYEES = 50;
+    
+    private static final int ATTENDANCE_DAYS = 20;
+    
+    @Param
+    private IdMode idMode;
+    
+    private Server server;
+    
+    private SessionFactory sessionFactory;
+    
+    private List<Employee> employees;
+    
+    private int batch;
+    
+    @Setup
+    public void setup() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:bulk;NON_KEYWORDS=MONTH,YEAR;DB_CLOSE_DELAY=-1";
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, idMode == IdMode.SEQUENCE_BATCHED ? 50 : 0)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .build();
+        MetadataSources sources = new MetadataSources(registry)
+                .addAnnotatedClass(Department.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Employee.class)
+                .addAnnotatedClass(Attendance.class)
+                .addAnnotatedClass(Salary.class);
+        if (idMode == IdMode.IDENTITY) {
+            sources.addResource("identity-ids-orm.xml");
+        }
+        sessionFactory = sources.buildMetadata().buildSessionFactory();
+        
+        employees = new ArrayList<>();
+        sessionFactory.inTransaction(session -> {
+            Department department = BenchmarkData.department(1L);
+            department.setId(null);
+            session.persist(department);
+            for (long id = 1; id <= EMPLOYEES; id++) {
+                Employee employee = BenchmarkData.employee(id, department);
+                employee.setId(null);
+                employee.setUser(null);
+                session.persist(employee);
+                employees.add(employee);
+            }
+        });
+    }
+    
+    @Setup(Level.Iteration)
+    public void clear() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("delete from Attendance").executeUpdate();
+            session.createMutationQuery("delete from Salary").executeUpdate();
+        });
+        batch = 0;
+    }
+    
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        server.stop();
+    }
+    
+    /**
+     * One operation writes 1000 attendance rows (50 employees x 20 days).
+     */
+    @Benchmark
+    public void insertAttendance() {
+        LocalDate start = LocalDate.of(2000, 1, 1).plusDays((long) batch++ * ATTENDANCE_DAYS);
+        sessionFactory.inTransaction(session -> {
+            for (Employee employee : employees) {
+                Employee reference = session.getReference(Employee.class, employee.getId());
+                for (int day = 0; day < ATTENDANCE_DAYS; day++) {
+                    Attendance attendance = new Attendance();
+                    attendance.setEmployee(reference);
+                    attendance.setDate(start.plusDays(day));
+                    attendance.setStatus(Attendance.AttendanceStatus.PRESENT);
+                    session.persist(attendance);
+                }
+            }
+        });
+    }
+    
+    /**
+     * One operation writes 600 salary rows (50 employees x 12 months).
+     */
+    @Benchmark
+    public void insertSalaries() {
+        int year = 2000 + batch++;
+        sessionFactory.inTransaction(session -> {
+            for (Employee employee : employees) {
+                Employee reference = session.getReference(Employee.class, employee.getId());
+                for (int month = 1; month <= 12; month++) {
+                    persistSalary(session, reference, employee.getSalary(), month, year);
+                }
+            }
+        });
+    }
+    
+    private static void persistSalary(Session session, Employee employee, BigDecimal basicPay, int month, int year) {
+        Salary salary = new Salary();
+        salary.setEmployee(employee);
+        salary.setMonth(month);
+        salary.setYear(year);
+        salary.setBasicPay(basicPay);
+        salary.setAllowances(new BigDecimal("5000.00"));
+        salary.setDeductions(new BigDecimal("2500.00"));
+        salary.setGeneratedDate(LocalDate.of(year, month, 28));
+        session.persist(salary);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ems.benchmarks;
+
+import com.ems.dto.EmployeeDto;
+import com.ems.entity.Employee;
+import com.ems.service.EmployeeDirectorySnapshot;
+import org.modelmapper.ModelMapper;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Prints the heap retained per employee by the entity graphs and DTOs of the JPA path and by the
+ * directory snapshot. Measured as the change in used heap after full GCs, so run it on an
+ * otherwise idle JVM:
+ * {@code mvn -pl benchmarks exec:exec -Dbenchmark.main=com.ems.benchmarks.DirectoryFootprint}
+ */
+public final class DirectoryFootprint {
+    
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    
+    private DirectoryFootprint() {
+    }
+    
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        ModelMapper modelMapper = new ModelMapper();
+        
+        System.out.printf("Retained heap for %,d employees%n", count);
+        report("Employee entities (department, user)", count, () -> BenchmarkData.employees(count));
+        report("EmployeeDto list", count, () -> BenchmarkData.employees(count).stream()
+                .map(employee -> toDto(modelMapper, employee))
+                .toList());
+        EmployeeDirectorySnapshot snapshot = (EmployeeDirectorySnapshot) report("EmployeeDirectorySnapshot", count,
+                () -> BenchmarkData.directory(BenchmarkData.employees(count)));
+        System.out.printf("%-40s %8.1f bytes/employee%n", "EmployeeDirectorySnapshot (estimated)",
+                snapshot.estimatedBytes() / (double) count);
+    }
+    
+    private static Object report(String label, int count, Supplier<Object> factory) throws InterruptedException {
+        long before = usedHeap();
+        Object retained = factory.get();
+        long after = usedHeap();
+        System.out.printf("%-40s %8.1f bytes/employee%n", label, (after - before) / (double) count);
+        Reference.reachabilityFence(retained);
+        return retained;
+    }
+    
+    private static EmployeeDto toDto(ModelMapper modelMapper, Employee employee) {
+        EmployeeDto dto = modelMapper.map(employee, EmployeeDto.class);
+        dto.setDepartmentId(employee.getDepartment().getId());
+        dto.setDepartmentName(employee.getDepartment().getName());
+        dto.setUsername(employee.getUser().getUsername());
+        dto.setStatus(employee.getStatus().name());
+        return dto;
+    }
+    
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,66 @@
+package com.ems.benchmarks;
+
+import com.ems.dto.DirectoryEntry;
+import com.ems.dto.EmployeeDto;
+import com.ems.entity.Employee;
+import com.ems.service.EmployeeDirectorySnapshot;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A directory query (one department, one designation) answered from already loaded entities
+ * through ModelMapper, and from the columnar snapshot. Loading the entities is not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeDirectoryBenchmark {
+    
+    private static final String DESIGNATION = "HR Specialist";
+    
+    private ModelMapper modelMapper;
+    
+    private List<Employee> employees;
+    
+    private EmployeeDirectorySnapshot snapshot;
+    
+    @Param({"10000"})
+    private int employeeCount;
+    
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+        
+        employees = BenchmarkData.employees(employeeCount);
+        snapshot = BenchmarkData.directory(employees);
+    }
+    
+    @Benchmark
+    public List<EmployeeDto> entities() {
+        List<EmployeeDto> results = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (employee.getDepartment().getId() == 3L && DESIGNATION.equals(employee.getDesignation())) {
+                results.add(BenchmarkMappings.toDto(modelMapper, employee));
+            }
+        }
+        return results;
+    }
+    
+    @Benchmark
+    public List<DirectoryEntry> snapshot() {
+        return snapshot.find(null, Set.of(3L), DESIGNATION, null, Integer.MAX_VALUE);
+    }
+    
+    @Benchmark
+    public List<DirectoryEntry> snapshotByName() {
+        return snapshot.find("ee 12", null, null, Employee.Status.ACTIVE, 100);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ems.benchmarks;
+
+import com.ems.dto.EmployeeDto;
+import com.ems.entity.Employee;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeMappingBenchmark {
+    
+    private ModelMapper modelMapper;
+    
+    private Employee employee;
+    
+    private List<Employee> employees;
+    
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+        
+        employees = BenchmarkData.employees(100);
+        employee = employees.get(0);
+    }
+    
+    @Benchmark
+    public EmployeeDto convertSingle() {
+        return BenchmarkMappings.toDto(modelMapper, employee);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public void convertPage(Blackhole blackhole) {
+        for (Employee e : employees) {
+            blackhole.consume(BenchmarkMappings.toDto(modelMapper, e));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ems.benchmarks;
+
+import com.ems.entity.Attendance;
+import com.ems.entity.Employee;
+import com.ems.entity.Salary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+    
+    @Param({"100", "1000"})
+    private int size;
+    
+    private ObjectMapper objectMapper;
+    
+    private List<Employee> employees;
+    
+    private List<Attendance> attendance;
+    
+    private List<Salary> salaries;
+    
+    @Setup
+    public void setup() {
+        // Matches the ObjectMapper Spring Boot configures for the REST controllers
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        employees = BenchmarkData.employees(size);
+        attendance = BenchmarkData.attendance(employees.subList(0, size / 10), 10);
+        salaries = BenchmarkData.salaries(employees, 1);
+    }
+    
+    @Benchmark
+    public byte[] employees() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+    
+    @Benchmark
+    public byte[] attendance() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(attendance);
+    }
+    
+    @Benchmark
+    public byte[] salaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(salaries);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ems.benchmarks;
+
+import com.ems.entity.User;
+import com.ems.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    
+    private JwtUtils jwtUtils;
+    
+    private User user;
+    
+    private String token;
+    
+    @Setup
+    public void setup() {
+        jwtUtils = new JwtUtils(BenchmarkData.JWT_SECRET, 900000);
+        jwtUtils.init();
+        
+        user = BenchmarkData.user(1L, User.Role.EMPLOYEE);
+        token = jwtUtils.generateJwtToken(user, 1L);
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateJwtToken(user, 1L);
+    }
+    
+    @Benchmark
+    public Claims parseToken() {
+        return jwtUtils.parseToken(token);
+    }
+    
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+}
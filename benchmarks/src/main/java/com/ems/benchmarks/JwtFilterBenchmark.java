@@ -0,0 +1,70 @@
+package com.ems.benchmarks;
+
+import com.ems.entity.User;
+import com.ems.security.JwtAuthTokenFilter;
+import com.ems.security.JwtUtils;
+import com.ems.security.TokenRevocationList;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the claims-only authentication path with the legacy path that loads
+ * the user for every request. The lookup is an in-memory stand-in, so the gap
+ * shown here is a lower bound on the saved database round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+    
+    private JwtAuthTokenFilter filter;
+    
+    private String claimsToken;
+    
+    private String legacyToken;
+    
+    @Setup
+    public void setup() {
+        JwtUtils jwtUtils = new JwtUtils(BenchmarkData.JWT_SECRET, 900000);
+        jwtUtils.init();
+        
+        User user = BenchmarkData.user(1L, User.Role.EMPLOYEE);
+        UserDetailsService userDetailsService = username -> user;
+        
+        filter = new JwtAuthTokenFilter(10, jwtUtils, userDetailsService, new TokenRevocationList());
+        
+        claimsToken = jwtUtils.generateJwtToken(user, 1L);
+        legacyToken = jwtUtils.generateTokenFromUsername(user.getUsername());
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse claimsPrincipal() throws Exception {
+        return doFilter(claimsToken);
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse userLookup() throws Exception {
+        return doFilter(legacyToken);
+    }
+    
+    private MockHttpServletResponse doFilter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
@@ -0,0 +1,113 @@
+package com.ems.benchmarks;
+
+import com.ems.entity.Attendance;
+import com.ems.entity.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Buffered list serialization against element-by-element streaming as done by JsonArrayStreamer,
+ * with and without Blackbird and gzip. Run with {@code -prof gc} for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListSerializationBenchmark {
+    
+    @Param({"false", "true"})
+    private boolean blackbird;
+    
+    @Param({"10000"})
+    private int size;
+    
+    private ObjectMapper objectMapper;
+    
+    private ObjectWriter elementWriter;
+    
+    private List<Attendance> attendance;
+    
+    private final CountingOutputStream sink = new CountingOutputStream();
+    
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (blackbird) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+        elementWriter = objectMapper.writerFor(Attendance.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        List<Employee> employees = BenchmarkData.employees(size / 100);
+        attendance = BenchmarkData.attendance(employees, 100);
+    }
+    
+    @Benchmark
+    public long bufferedList() throws IOException {
+        sink.reset();
+        sink.write(objectMapper.writeValueAsBytes(attendance));
+        return sink.count;
+    }
+    
+    @Benchmark
+    public long streamedElements() throws IOException {
+        sink.reset();
+        stream(sink);
+        return sink.count;
+    }
+    
+    @Benchmark
+    public long streamedElementsGzip() throws IOException {
+        sink.reset();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(sink, 8192)) {
+            stream(gzip);
+        }
+        return sink.count;
+    }
+    
+    private void stream(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (Attendance record : attendance) {
+                elementWriter.writeValue(generator, record);
+            }
+            generator.writeEndArray();
+        }
+    }
+    
+    private static final class CountingOutputStream extends OutputStream {
+        
+        private long count;
+        
+        @Override
+        public void write(int b) {
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+        
+        @Override
+        public void close() {
+        }
+        
+        void reset() {
+            count = 0;
+        }
+    }
+}
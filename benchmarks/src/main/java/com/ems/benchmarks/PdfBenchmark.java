@@ -0,0 +1,53 @@
+package com.ems.benchmarks;
+
+import com.ems.entity.Employee;
+import com.ems.entity.Salary;
+import com.ems.service.PdfService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfBenchmark {
+    
+    private PdfService pdfService;
+    
+    private Salary salary;
+    
+    private List<Salary> annualSalaries;
+    
+    @Setup
+    public void setup() {
+        pdfService = new PdfService(500, new SimpleMeterRegistry());
+        Employee employee = BenchmarkData.employee(1L, BenchmarkData.department(1L));
+        salary = BenchmarkData.salary(1L, employee, 1);
+        annualSalaries = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            annualSalaries.add(BenchmarkData.salary(month, employee, month));
+        }
+    }
+    
+    @Benchmark
+    public byte[] generatePayslip() throws IOException {
+        return pdfService.generatePayslipPdf(salary);
+    }
+    
+    @Benchmark
+    public byte[] cachedPayslip() throws IOException {
+        return pdfService.getPayslipPdf(salary);
+    }
+    
+    @Benchmark
+    public byte[] annualStatement() throws IOException {
+        return pdfService.generateAnnualStatementPdf(annualSalaries, 2024);
+    }
+}
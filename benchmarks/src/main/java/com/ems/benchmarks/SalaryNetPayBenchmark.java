@@ -0,0 +1,30 @@
+package com.ems.benchmarks;
+
+import com.ems.entity.Employee;
+import com.ems.entity.Salary;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SalaryNetPayBenchmark {
+    
+    private Salary salary;
+    
+    @Setup
+    public void setup() {
+        Employee employee = BenchmarkData.employee(1L, BenchmarkData.department(1L));
+        salary = BenchmarkData.salary(1L, employee, 1);
+    }
+    
+    @Benchmark
+    public BigDecimal calculateNetPay() {
+        return BenchmarkMappings.netPay(salary);
+    }
+}
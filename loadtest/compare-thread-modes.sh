@@ -0,0 +1,28 @@
+#!/bin/bash
+# Runs the same load twice against the in-process backend, once on Tomcat's platform thread pool and
+# once with the "virtual" profile, and keeps both reports. Needs a JDK 21 on the PATH.
+# Usage: ./compare-thread-modes.sh [load test options], e.g. --mode=open --rate=400 --duration-s=120
+set -e
+cd "$(dirname "$0")/.."
+
+if ! java -version 2>&1 | grep -qE 'version "(2[1-9]|[3-9][0-9])'; then
+    echo "Virtual threads need Java 21 or newer; found: $(java -version 2>&1 | head -1)" >&2
+    exit 1
+fi
+
+# The java21 profile is defined by the backend only; the load generator stays on the default release
+mvn -B -q -pl backend -Pjava21 install -DskipTests
+mvn -B -q -pl loadtest install -DskipTests
+mkdir -p loadtest/target
+
+echo "=== Platform threads ==="
+mvn -B -q -pl loadtest exec:exec \
+    -Dloadtest.args="$* --report=target/platform-threads.csv"
+
+echo "=== Virtual threads ==="
+mvn -B -q -pl loadtest exec:exec \
+    -Dloadtest.jvmArgs="-Djdk.tracePinnedThreads=short" \
+    -Dloadtest.args="$* --backend-profiles=virtual --report=target/virtual-threads.csv"
+
+echo
+echo "Reports: loadtest/target/platform-threads.csv, loadtest/target/virtual-threads.csv"
@@ -0,0 +1,126 @@
+package com.ems.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Thin blocking HTTP client for the backend API. One instance is shared by all load threads.
+ */
+public class ApiClient {
+    
+    private static final String PASSWORD = "password123";
+    
+    private static final int MAX_LOGIN_ATTEMPTS = 10;
+    
+    private final String baseUrl;
+    
+    private final HttpClient httpClient;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    public ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+    
+    public Session login(String username) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("username", username, "password", PASSWORD));
+        for (int attempt = 1; attempt <= MAX_LOGIN_ATTEMPTS; attempt++) {
+            HttpResponse<String> response = httpClient.send(jsonRequest("/api/auth/login", body).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                JsonNode json = objectMapper.readTree(response.body());
+                JsonNode employeeId = json.get("employeeId");
+                return new Session(username, json.get("role").asText(),
+                        employeeId == null || employeeId.isNull() ? null : employeeId.asLong(),
+                        json.get("token").asText(), json.get("refreshToken").asText());
+            }
+            if (response.statusCode() != 429) {
+                throw new IOException("Login failed for " + username + ": HTTP " + response.statusCode());
+            }
+            // Login is rate limited per IP and per username; honour Retry-After instead of failing the run
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+            Thread.sleep(Duration.ofSeconds(retryAfter).toMillis());
+        }
+        throw new IOException("Login for " + username + " was still rate limited after " + MAX_LOGIN_ATTEMPTS + " attempts");
+    }
+    
+    public int get(Session session, String path) throws IOException, InterruptedException {
+        return send(session, () -> request(path).GET()).statusCode();
+    }
+    
+    public int post(Session session, String path, Object body) throws IOException, InterruptedException {
+        String json = objectMapper.writeValueAsString(body);
+        return send(session, () -> jsonRequest(path, json)).statusCode();
+    }
+    
+    public JsonNode postForJson(Session session, String path, Object body) throws IOException, InterruptedException {
+        String json = objectMapper.writeValueAsString(body);
+        HttpResponse<byte[]> response = send(session, () -> jsonRequest(path, json));
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("POST " + path + " failed: HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+    
+    private HttpResponse<byte[]> send(Session session, RequestFactory factory) throws IOException, InterruptedException {
+        String token = session.getAccessToken();
+        HttpResponse<byte[]> response = httpClient.send(authorized(factory.create(), token),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 401 && refresh(session, token)) {
+            response = httpClient.send(authorized(factory.create(), session.getAccessToken()),
+                    HttpResponse.BodyHandlers.ofByteArray());
+        }
+        return response;
+    }
+    
+    /**
+     * Rotates the session's tokens once per expired access token, however many threads saw the 401.
+     */
+    private boolean refresh(Session session, String expiredToken) throws IOException, InterruptedException {
+        synchronized (session) {
+            if (!expiredToken.equals(session.getAccessToken())) {
+                return true;
+            }
+            String body = objectMapper.writeValueAsString(Map.of("refreshToken", session.getRefreshToken()));
+            HttpResponse<String> response = httpClient.send(jsonRequest("/api/auth/refresh", body).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return false;
+            }
+            JsonNode json = objectMapper.readTree(response.body());
+            session.updateTokens(json.get("token").asText(), json.get("refreshToken").asText());
+            return true;
+        }
+    }
+    
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60));
+    }
+    
+    private HttpRequest.Builder jsonRequest(String path, String json) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+    
+    private static HttpRequest authorized(HttpRequest.Builder builder, String token) {
+        return builder.header("Authorization", "Bearer " + token).build();
+    }
+    
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest.Builder create();
+    }
+}
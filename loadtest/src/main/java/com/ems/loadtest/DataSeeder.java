@@ -0,0 +1,87 @@
+package com.ems.loadtest;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds departments, employees and payroll through the REST API and logs in the users the
+ * load test acts as. Names carry a per-run prefix so repeated runs against one instance do not collide.
+ */
+public class DataSeeder {
+    
+    private static final String[] DESIGNATIONS = {
+        "Software Engineer", "Senior Software Engineer", "QA Engineer", "HR Specialist", "Accountant", "Team Lead"
+    };
+    
+    private final ApiClient client;
+    
+    private final LoadTestConfig config;
+    
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    
+    public DataSeeder(ApiClient client, LoadTestConfig config) {
+        this.client = client;
+        this.config = config;
+    }
+    
+    public Workload seed() throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+        Session admin = client.login("admin");
+        Session hr = client.login("hr.manager");
+        
+        long[] departmentIds = new long[config.getDepartments()];
+        for (int i = 0; i < departmentIds.length; i++) {
+            Map<String, Object> department = new HashMap<>();
+            department.put("name", "LT " + runId + " Department " + (i + 1));
+            department.put("description", "Load test department");
+            departmentIds[i] = client.postForJson(admin, "/api/departments", department).get("id").asLong();
+        }
+        
+        long[] employeeIds = new long[config.getEmployees()];
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < employeeIds.length; i++) {
+            Map<String, Object> employee = new HashMap<>();
+            employee.put("name", "Load Test " + (i + 1));
+            employee.put("email", "lt." + runId + "." + (i + 1) + "@company.com");
+            employee.put("departmentId", departmentIds[random.nextInt(departmentIds.length)]);
+            employee.put("designation", DESIGNATIONS[random.nextInt(DESIGNATIONS.length)]);
+            employee.put("salary", 30000 + random.nextInt(90) * 1000);
+            employee.put("joinDate", LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3000)).toString());
+            employee.put("status", "ACTIVE");
+            // Only the employees the load test logs in as need an account
+            if (i < config.getEmployeeSessions()) {
+                String username = "lt." + runId + "." + (i + 1);
+                employee.put("username", username);
+                usernames.add(username);
+            }
+            employeeIds[i] = client.postForJson(hr, "/api/employees", employee).get("id").asLong();
+        }
+        
+        for (long employeeId : employeeIds) {
+            for (int month = 1; month <= config.getPayslipMonths(); month++) {
+                Map<String, Object> salary = new HashMap<>();
+                salary.put("employeeId", employeeId);
+                salary.put("month", month);
+                salary.put("year", config.getYear());
+                salary.put("allowances", 1000 + random.nextInt(5000));
+                salary.put("deductions", random.nextInt(2000));
+                client.postForJson(hr, "/api/salary/generate", salary);
+            }
+        }
+        
+        List<Session> employeeSessions = new ArrayList<>();
+        for (String username : usernames) {
+            employeeSessions.add(client.login(username));
+        }
+        
+        System.out.printf("Seeded %d departments, %d employees, %d salary records; %d employee sessions%n",
+                departmentIds.length, employeeIds.length, employeeIds.length * config.getPayslipMonths(),
+                employeeSessions.size());
+        return new Workload(client, config, admin, hr, employeeSessions, employeeIds);
+    }
+}
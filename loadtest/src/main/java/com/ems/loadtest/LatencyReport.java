@@ -0,0 +1,82 @@
+package com.ems.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per operation for the measurement window.
+ */
+public class LatencyReport {
+    
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    
+    private final LoadTestConfig config;
+    
+    private final Map<Operation, OperationStats> stats;
+    
+    private final int durationSeconds;
+    
+    private final long lateStarts;
+    
+    public LatencyReport(LoadTestConfig config, Map<Operation, OperationStats> stats, int durationSeconds, long lateStarts) {
+        this.config = config;
+        this.stats = stats;
+        this.durationSeconds = durationSeconds;
+        this.lateStarts = lateStarts;
+    }
+    
+    public void print() {
+        System.out.println();
+        System.out.println(config);
+        System.out.printf("%-12s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(3);
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            printRow(entry.getKey().getDisplayName(), operationStats.getRequests(), operationStats.getErrors(),
+                    operationStats.getHistogram());
+            total.add(operationStats.getHistogram());
+            totalRequests += operationStats.getRequests();
+            totalErrors += operationStats.getErrors();
+        }
+        printRow("total", totalRequests, totalErrors, total);
+        
+        if (config.getMode() == LoadTestConfig.Mode.OPEN) {
+            System.out.printf("Requests started late because all %d workers were busy: %d%n", config.getWorkers(), lateStarts);
+        } else if (config.getThinkTimeMs() == 0) {
+            System.out.println("Closed loop without think time: latencies are service times, not corrected for coordinated omission");
+        }
+    }
+    
+    public void writeCsv(Path path) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+            writer.println("operation,requests,errors,throughput,p50_ms,p99_ms,p999_ms,max_ms");
+            for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+                OperationStats operationStats = entry.getValue();
+                Histogram histogram = operationStats.getHistogram();
+                writer.printf("%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f%n", entry.getKey().getDisplayName(),
+                        operationStats.getRequests(), operationStats.getErrors(),
+                        (double) operationStats.getRequests() / durationSeconds,
+                        millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                        histogram.getMaxValue() / NANOS_PER_MILLI);
+            }
+        }
+    }
+    
+    private void printRow(String name, long requests, long errors, Histogram histogram) {
+        System.out.printf("%-12s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", name, requests, errors,
+                (double) requests / durationSeconds, millis(histogram, 50.0), millis(histogram, 99.0),
+                millis(histogram, 99.9), histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+    
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,127 @@
+package com.ems.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the operation mix either closed loop (a fixed number of users, each sending its next
+ * request after the previous response) or open loop (requests scheduled at a fixed rate).
+ *
+ * <p>Open loop latency is measured from the time a request was scheduled to start, not from when a
+ * worker got around to sending it, so a stalled server cannot hide the queue that builds up behind it.
+ * Closed loop runs with a think time back-fill the histogram for the requests the stalled users did not
+ * send. Without a think time there is no intended schedule and the closed loop numbers are service times.
+ */
+public class LoadDriver {
+    
+    private final LoadTestConfig config;
+    
+    private final Workload workload;
+    
+    private final OperationMix mix;
+    
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    
+    private final AtomicLong lateStarts = new AtomicLong();
+    
+    private volatile long measurementStartNanos;
+    
+    private volatile long endNanos;
+    
+    public LoadDriver(LoadTestConfig config, Workload workload) {
+        this.config = config;
+        this.workload = workload;
+        this.mix = new OperationMix(config.getMix());
+        for (Operation operation : config.getMix().keySet()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+    
+    public LatencyReport run() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        measurementStartNanos = startNanos + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        endNanos = measurementStartNanos + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        
+        SplittableRandom seedRandom = new SplittableRandom(config.getSeed());
+        AtomicLong nextSlot = new AtomicLong();
+        int threadCount = config.getMode() == LoadTestConfig.Mode.CLOSED ? config.getUsers() : config.getWorkers();
+        List<Thread> threads = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            SplittableRandom random = seedRandom.split();
+            Runnable loop = config.getMode() == LoadTestConfig.Mode.CLOSED
+                    ? () -> closedLoop(random)
+                    : () -> openLoop(random, startNanos, nextSlot);
+            Thread thread = new Thread(loop, "load-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        
+        System.out.printf("Warming up for %ds...%n", config.getWarmupSeconds());
+        sleepUntil(measurementStartNanos);
+        stats.values().forEach(OperationStats::reset);
+        lateStarts.set(0);
+        System.out.printf("Measuring for %ds...%n", config.getDurationSeconds());
+        sleepUntil(endNanos);
+        stats.values().forEach(OperationStats::finish);
+        
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(60));
+        }
+        return new LatencyReport(config, stats, config.getDurationSeconds(), lateStarts.get());
+    }
+    
+    private void closedLoop(SplittableRandom random) {
+        long thinkTimeNanos = TimeUnit.MILLISECONDS.toNanos(config.getThinkTimeMs());
+        while (System.nanoTime() < endNanos) {
+            long start = System.nanoTime();
+            execute(mix.next(random), random, start, thinkTimeNanos);
+            if (thinkTimeNanos > 0) {
+                LockSupport.parkNanos(thinkTimeNanos);
+            }
+        }
+    }
+    
+    private void openLoop(SplittableRandom random, long startNanos, AtomicLong nextSlot) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.getRate());
+        while (true) {
+            long intendedStart = startNanos + nextSlot.getAndIncrement() * intervalNanos;
+            if (intendedStart >= endNanos) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (now < intendedStart) {
+                sleepUntil(intendedStart);
+            } else if (now - intendedStart > intervalNanos && intendedStart >= measurementStartNanos) {
+                // Every worker was busy when this request was due
+                lateStarts.incrementAndGet();
+            }
+            execute(mix.next(random), random, intendedStart, 0);
+        }
+    }
+    
+    private void execute(Operation operation, SplittableRandom random, long intendedStart, long expectedIntervalNanos) {
+        OperationStats operationStats = stats.get(operation);
+        try {
+            int status = operation.execute(workload, random);
+            operationStats.record(System.nanoTime() - intendedStart, expectedIntervalNanos, status);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            operationStats.recordFailure(System.nanoTime() - intendedStart, expectedIntervalNanos);
+        }
+    }
+    
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ems.loadtest;
+
+import com.ems.EmployeeManagementSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point. Without {@code --target} the backend is started in this JVM on the embedded H2
+ * database; the load generator then competes with it for CPU, so use a separate host for capacity numbers.
+ */
+public class LoadTestApplication {
+    
+    // Command line arguments take precedence over the backend's application.properties
+    private static final String[] IN_PROCESS_ARGS = {
+        "--server.port=0",
+        "--management.server.port=0",
+        "--spring.jpa.show-sql=false",
+        "--spring.h2.console.enabled=false",
+        "--logging.level.com.ems=INFO",
+        "--logging.level.org.springframework.security=INFO",
+        // Every load test user logs in from the loopback address
+        "--auth.rate-limit.ip.capacity=1000",
+        "--auth.rate-limit.ip.refill-per-minute=1000"
+    };
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        
+        ConfigurableApplicationContext backend = null;
+        if (config.isInProcess()) {
+            List<String> backendArgs = new ArrayList<>(List.of(IN_PROCESS_ARGS));
+            if (!config.getBackendProfiles().isEmpty()) {
+                backendArgs.add("--spring.profiles.active=" + config.getBackendProfiles());
+            }
+            backend = new SpringApplicationBuilder(EmployeeManagementSystemApplication.class)
+                    .run(backendArgs.toArray(new String[0]));
+            int port = ((WebServerApplicationContext) backend).getWebServer().getPort();
+            config.setTarget("http://localhost:" + port);
+        }
+        
+        try {
+            ApiClient client = new ApiClient(config.getTarget());
+            Workload workload = new DataSeeder(client, config).seed();
+            LatencyReport report = new LoadDriver(config, workload).run();
+            report.print();
+            if (!config.getReport().isEmpty()) {
+                report.writeCsv(Path.of(config.getReport()));
+            }
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,203 @@
+package com.ems.loadtest;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test options, given on the command line as {@code --name=value}.
+ */
+public class LoadTestConfig {
+    
+    public enum Mode {
+        CLOSED, OPEN
+    }
+    
+    // Base URL of a running instance; empty boots the backend in-process on H2
+    private String target = "";
+    
+    // Spring profiles for the in-process backend, e.g. "virtual"
+    private String backendProfiles = "";
+    
+    private Mode mode = Mode.CLOSED;
+    
+    // Closed loop: concurrent users, each waiting for its response before the next request
+    private int users = 32;
+    
+    private long thinkTimeMs = 0;
+    
+    // Open loop: requests per second issued on a fixed schedule regardless of response times
+    private double rate = 200;
+    
+    private int workers = 256;
+    
+    private int warmupSeconds = 15;
+    
+    private int durationSeconds = 60;
+    
+    private Map<Operation, Integer> mix = parseMix("attendance=40,employees=20,salary=10,payslip=30");
+    
+    private int departments = 10;
+    
+    private int employees = 200;
+    
+    private int employeeSessions = 20;
+    
+    private int payslipMonths = 3;
+    
+    private int year = 2024;
+    
+    private long seed = 42;
+    
+    private String report = "";
+    
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        
+        LoadTestConfig config = new LoadTestConfig();
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            String value = option.getValue();
+            switch (option.getKey()) {
+                case "target" -> config.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "backend-profiles" -> config.backendProfiles = value;
+                case "mode" -> config.mode = Mode.valueOf(value.toUpperCase());
+                case "users" -> config.users = Integer.parseInt(value);
+                case "think-time-ms" -> config.thinkTimeMs = Long.parseLong(value);
+                case "rate" -> config.rate = Double.parseDouble(value);
+                case "workers" -> config.workers = Integer.parseInt(value);
+                case "warmup-s" -> config.warmupSeconds = Integer.parseInt(value);
+                case "duration-s" -> config.durationSeconds = Integer.parseInt(value);
+                case "mix" -> config.mix = parseMix(value);
+                case "departments" -> config.departments = Integer.parseInt(value);
+                case "employees" -> config.employees = Integer.parseInt(value);
+                case "employee-sessions" -> config.employeeSessions = Integer.parseInt(value);
+                case "payslip-months" -> config.payslipMonths = Integer.parseInt(value);
+                case "year" -> config.year = Integer.parseInt(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "report" -> config.report = value;
+                default -> throw new IllegalArgumentException("Unknown option: --" + option.getKey());
+            }
+        }
+        
+        if (config.employeeSessions < 1 || config.employeeSessions > config.employees) {
+            throw new IllegalArgumentException("--employee-sessions must be between 1 and --employees");
+        }
+        if (config.payslipMonths < 1 || config.payslipMonths > 12) {
+            throw new IllegalArgumentException("--payslip-months must be between 1 and 12");
+        }
+        return config;
+    }
+    
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in --mix but got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromName(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix must give at least one operation a positive weight");
+        }
+        return mix;
+    }
+    
+    public boolean isInProcess() {
+        return target.isEmpty();
+    }
+    
+    public String getTarget() {
+        return target;
+    }
+    
+    public void setTarget(String target) {
+        this.target = target;
+    }
+    
+    public String getBackendProfiles() {
+        return backendProfiles;
+    }
+    
+    public Mode getMode() {
+        return mode;
+    }
+    
+    public int getUsers() {
+        return users;
+    }
+    
+    public long getThinkTimeMs() {
+        return thinkTimeMs;
+    }
+    
+    public double getRate() {
+        return rate;
+    }
+    
+    public int getWorkers() {
+        return workers;
+    }
+    
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+    
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+    
+    public int getDepartments() {
+        return departments;
+    }
+    
+    public int getEmployees() {
+        return employees;
+    }
+    
+    public int getEmployeeSessions() {
+        return employeeSessions;
+    }
+    
+    public int getPayslipMonths() {
+        return payslipMonths;
+    }
+    
+    public int getYear() {
+        return year;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public String getReport() {
+        return report;
+    }
+    
+    @Override
+    public String toString() {
+        String load = mode == Mode.CLOSED
+                ? users + " users, think time " + thinkTimeMs + " ms"
+                : rate + " req/s, " + workers + " workers";
+        String backend = backendProfiles.isEmpty() ? "" : " [" + backendProfiles + "]";
+        return "target=" + (isInProcess() ? "in-process" : target) + backend
+                + ", mode=" + mode.name().toLowerCase() + " (" + load + ")"
+                + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds + "s"
+                + ", mix=" + mix;
+    }
+}
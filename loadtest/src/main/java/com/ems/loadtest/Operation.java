@@ -0,0 +1,81 @@
+package com.ems.loadtest;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The API calls replayed by the load test. Each call returns the HTTP status.
+ */
+public enum Operation {
+    
+    ATTENDANCE_MARK("attendance") {
+        @Override
+        int execute(Workload workload, SplittableRandom random) throws IOException, InterruptedException {
+            Session session = workload.randomEmployeeSession(random);
+            LocalDate date = LocalDate.of(workload.getConfig().getYear(), 1, 1).plusDays(random.nextInt(365));
+            return workload.getClient().post(session, "/api/attendance/mark", Map.of(
+                    "employeeId", session.getEmployeeId(),
+                    "date", date.toString(),
+                    "status", ATTENDANCE_STATUSES[random.nextInt(ATTENDANCE_STATUSES.length)]));
+        }
+    },
+    
+    EMPLOYEE_LIST("employees") {
+        @Override
+        int execute(Workload workload, SplittableRandom random) throws IOException, InterruptedException {
+            return workload.getClient().get(workload.randomPayrollSession(random), "/api/employees");
+        }
+    },
+    
+    SALARY_GENERATE("salary") {
+        @Override
+        int execute(Workload workload, SplittableRandom random) throws IOException, InterruptedException {
+            return workload.getClient().post(workload.randomPayrollSession(random), "/api/salary/generate", Map.of(
+                    "employeeId", workload.randomEmployeeId(random),
+                    "month", 1 + random.nextInt(12),
+                    "year", workload.getConfig().getYear(),
+                    "allowances", 1000 + random.nextInt(5000),
+                    "deductions", random.nextInt(2000)));
+        }
+    },
+    
+    PAYSLIP_DOWNLOAD("payslip") {
+        @Override
+        int execute(Workload workload, SplittableRandom random) throws IOException, InterruptedException {
+            Session session = workload.randomEmployeeSession(random);
+            int month = 1 + random.nextInt(workload.getConfig().getPayslipMonths());
+            return workload.getClient().get(session,
+                    "/api/download/" + session.getEmployeeId() + "/" + month + "/" + workload.getConfig().getYear());
+        }
+    };
+    
+    private static final String[] ATTENDANCE_STATUSES = {"PRESENT", "PRESENT", "PRESENT", "LATE", "HALF_DAY", "ABSENT"};
+    
+    private final String displayName;
+    
+    Operation(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    abstract int execute(Workload workload, SplittableRandom random) throws IOException, InterruptedException;
+    
+    public static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.displayName.equalsIgnoreCase(name) || operation.name().equalsIgnoreCase(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + name);
+    }
+    
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ems.loadtest;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted choice of the next operation.
+ */
+public class OperationMix {
+    
+    private final Operation[] operations;
+    
+    private final int[] cumulativeWeights;
+    
+    private final int totalWeight;
+    
+    public OperationMix(Map<Operation, Integer> weights) {
+        operations = new Operation[weights.size()];
+        cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        int index = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            operations[index] = entry.getKey();
+            cumulativeWeights[index] = total;
+            index++;
+        }
+        totalWeight = total;
+    }
+    
+    public Operation next(SplittableRandom random) {
+        int value = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
@@ -0,0 +1,75 @@
+package com.ems.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and error count for one operation, safe to record into from many threads.
+ */
+public class OperationStats {
+    
+    private final Recorder recorder = new Recorder(3);
+    
+    // Histogram counts include back-filled samples, so completed requests are counted separately
+    private final LongAdder requests = new LongAdder();
+    
+    private final LongAdder errors = new LongAdder();
+    
+    private Histogram histogram;
+    
+    private long completedRequests;
+    
+    private long completedErrors;
+    
+    /**
+     * @param expectedIntervalNanos pause the caller intended between requests; when positive the histogram
+     *                              is back-filled for the requests a stalled response held back
+     */
+    public void record(long latencyNanos, long expectedIntervalNanos, int status) {
+        if (expectedIntervalNanos > 0) {
+            recorder.recordValueWithExpectedInterval(latencyNanos, expectedIntervalNanos);
+        } else {
+            recorder.recordValue(latencyNanos);
+        }
+        requests.increment();
+        if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+    }
+    
+    public void recordFailure(long latencyNanos, long expectedIntervalNanos) {
+        record(latencyNanos, expectedIntervalNanos, 0);
+    }
+    
+    /**
+     * Drops everything recorded so far, e.g. at the end of the warmup.
+     */
+    public void reset() {
+        recorder.getIntervalHistogram();
+        requests.reset();
+        errors.reset();
+    }
+    
+    /**
+     * Closes the measurement window; the histogram and counts are stable afterwards.
+     */
+    public void finish() {
+        histogram = recorder.getIntervalHistogram();
+        completedRequests = requests.sum();
+        completedErrors = errors.sum();
+    }
+    
+    public Histogram getHistogram() {
+        return histogram;
+    }
+    
+    public long getRequests() {
+        return completedRequests;
+    }
+    
+    public long getErrors() {
+        return completedErrors;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ems.loadtest;
+
+/**
+ * A logged-in API user. Tokens are replaced in place when the access token is refreshed.
+ */
+public class Session {
+    
+    private final String username;
+    
+    private final String role;
+    
+    private final Long employeeId;
+    
+    private volatile String accessToken;
+    
+    private volatile String refreshToken;
+    
+    public Session(String username, String role, Long employeeId, String accessToken, String refreshToken) {
+        this.username = username;
+        this.role = role;
+        this.employeeId = employeeId;
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public String getRole() {
+        return role;
+    }
+    
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+    
+    public String getAccessToken() {
+        return accessToken;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    void updateTokens(String accessToken, String refreshToken) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ems.loadtest;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sessions and seeded ids the operations draw from.
+ */
+public class Workload {
+    
+    private final ApiClient client;
+    
+    private final LoadTestConfig config;
+    
+    private final Session adminSession;
+    
+    private final Session hrSession;
+    
+    private final List<Session> employeeSessions;
+    
+    private final long[] employeeIds;
+    
+    public Workload(ApiClient client, LoadTestConfig config, Session adminSession, Session hrSession,
+                    List<Session> employeeSessions, long[] employeeIds) {
+        this.client = client;
+        this.config = config;
+        this.adminSession = adminSession;
+        this.hrSession = hrSession;
+        this.employeeSessions = employeeSessions;
+        this.employeeIds = employeeIds;
+    }
+    
+    public ApiClient getClient() {
+        return client;
+    }
+    
+    public LoadTestConfig getConfig() {
+        return config;
+    }
+    
+    /**
+     * Payroll work is split between the HR manager and the admin, roughly as in production.
+     */
+    public Session randomPayrollSession(SplittableRandom random) {
+        return random.nextInt(4) == 0 ? adminSession : hrSession;
+    }
+    
+    public Session randomEmployeeSession(SplittableRandom random) {
+        return employeeSessions.get(random.nextInt(employeeSessions.size()));
+    }
+    
+    public long randomEmployeeId(SplittableRandom random) {
+        return employeeIds[random.nextInt(employeeIds.length)];
+    }
+}
@@ -28,6 +28,41 @@ export const AuthProvider = ({ children }) => {
     }
   }, [])
 
+  // Access tokens are short-lived: on a 401, exchange the refresh token once and retry
+  useEffect(() => {
+    let refreshing = null
+
+    const interceptor = axios.interceptors.response.use(
+      (response) => response,
+      async (error) => {
+        const original = error.config
+        const refreshToken = localStorage.getItem('refreshToken')
+        if (error.response?.status !== 401 || !refreshToken || original._retried ||
+            original.url?.startsWith('/api/auth/')) {
+          return Promise.reject(error)
+        }
+
+        original._retried = true
+        try {
+          refreshing = refreshing || axios.post('/api/auth/refresh', { refreshToken })
+          const { data } = await refreshing
+          localStorage.setItem('token', data.token)
+          localStorage.setItem('refreshToken', data.refreshToken)
+          axios.defaults.headers.common['Authorization'] = `Bearer ${data.token}`
+          original.headers['Authorization'] = `Bearer ${data.token}`
+          return axios(original)
+        } catch (refreshError) {
+          logout()
+          return Promise.reject(error)
+        } finally {
+          refreshing = null
+        }
+      }
+    )
+
+    return () => axios.interceptors.response.eject(interceptor)
+  }, [])
+
   const verifyToken = async (token) => {
     try {
       // You can add a token verification endpoint in your backend
@@ -51,10 +86,11 @@ export const AuthProvider = ({ children }) => {
         password
       })
 
-      const { token, username: userName, role, employeeId } = response.data
+      const { token, refreshToken, username: userName, role, employeeId } = response.data
       
       // Store token and user data
       localStorage.setItem('token', token)
+      localStorage.setItem('refreshToken', refreshToken)
       localStorage.setItem('user', JSON.stringify({
         username: userName,
         role,
@@ -81,7 +117,12 @@ export const AuthProvider = ({ children }) => {
   }
 
   const logout = () => {
+    // Revoke the token server-side; local state is cleared regardless of the outcome
+    if (axios.defaults.headers.common['Authorization']) {
+      axios.post('/api/auth/logout', { refreshToken: localStorage.getItem('refreshToken') }).catch(() => {})
+    }
     localStorage.removeItem('token')
+    localStorage.removeItem('refreshToken')
     localStorage.removeItem('user')
     delete axios.defaults.headers.common['Authorization']
     setUser(null)